@@ -0,0 +1,16 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.server.WebFilter;
+
+@Configuration
+public class ConnectionRoutingConfig {
+
+    @Bean
+    public WebFilter readYourWritesWebFilter() {
+        return (exchange, chain) -> chain.filter(exchange)
+                .contextWrite(ConnectionRouting::withSession);
+    }
+}
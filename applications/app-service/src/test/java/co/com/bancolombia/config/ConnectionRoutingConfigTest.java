@@ -0,0 +1,39 @@
+package co.com.bancolombia.config;
+
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionRoutingConfigTest {
+
+    @Test
+    void readYourWritesWebFilterShouldRouteReadsAfterWritesToPrimary() {
+        WebFilter filter = new ConnectionRoutingConfig().readYourWritesWebFilter();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/franchises"));
+        List<ConnectionRouting.Route> routes = new ArrayList<>();
+
+        WebFilterChain chain = _ -> Mono.deferContextual(context -> {
+                    routes.add(ConnectionRouting.route(context, true));
+                    return Mono.empty();
+                })
+                .then(ConnectionRouting.readOnly(Mono.deferContextual(context -> {
+                    routes.add(ConnectionRouting.route(context, true));
+                    return Mono.<Void>empty();
+                })));
+
+        StepVerifier.create(filter.filter(exchange, chain))
+                .verifyComplete();
+
+        assertEquals(List.of(ConnectionRouting.Route.PRIMARY, ConnectionRouting.Route.PRIMARY), routes);
+    }
+}
@@ -5,7 +5,14 @@ import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -50,6 +57,11 @@ class UseCasesConfigTest {
                 public Mono<Franchise> findById(Long id) {
                     return Mono.empty();
                 }
+
+                @Override
+                public Mono<Franchise> updateName(Long id, String name) {
+                    return Mono.empty();
+                }
             };
         }
 
@@ -66,6 +78,21 @@ class UseCasesConfigTest {
                     return Mono.empty();
                 }
 
+                @Override
+                public Mono<Branch> updateName(Long id, String name) {
+                    return Mono.empty();
+                }
+
+                @Override
+                public Flux<Branch> findByFranchiseIdAfter(Long franchiseId, Long afterId, int limit) {
+                    return Flux.empty();
+                }
+
+                @Override
+                public Flux<Branch> findAll() {
+                    return Flux.empty();
+                }
+
             };
         }
 
@@ -81,11 +108,109 @@ class UseCasesConfigTest {
                     return Mono.empty();
                 }
                 @Override
-                public Mono<Void> deleteById(Long id){
+                public Mono<Product> deleteById(Long id){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Product> updateName(Long id, String name){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Product> updateStock(Long id, Integer stock){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Product> updateStock(Long id, Integer stock, Long expectedVersion){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Product> adjustStock(Long id, Integer delta, boolean allowNegative){
+                    return Mono.empty();
+                }
+                @Override
+                public Flux<Product> updateStocks(Flux<ProductStockUpdate> updates){
+                    return Flux.empty();
+                }
+                @Override
+                public Flux<Product> insertAll(Flux<Product> products){
+                    return Flux.empty();
+                }
+                @Override
+                public Flux<ProductWithBranch> findTopStockWithBranchByFranchise(Long franchiseId){
+                    return Flux.empty();
+                }
+                @Override
+                public Flux<Product> findByBranchIdAfter(Long branchId, Long afterId, int limit){
+                    return Flux.empty();
+                }
+                @Override
+                public Flux<Product> findAll(){
+                    return Flux.empty();
+                }
+            };
+        }
+
+        @Bean
+        public TopStockProductsCache topStockProductsCache() {
+            return new TopStockProductsCache() {
+                @Override
+                public Mono<TopStockProducts> getOrLoad(Long franchiseId, Flux<ProductWithBranch> loader){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<TopStockProducts> getIfPresent(Long franchiseId){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<String> currentVersion(Long franchiseId){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Void> evictByBranch(Long branchId){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Void> evictAll(){
+                    return Mono.empty();
+                }
+            };
+        }
+
+        @Bean
+        public TopStockIndex topStockIndex() {
+            return new TopStockIndex() {
+                @Override
+                public Mono<TopStockProducts> findTopStock(Long franchiseId){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Void> upsertProduct(Product product){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Void> removeProduct(Product product){
+                    return Mono.empty();
+                }
+                @Override
+                public Mono<Void> upsertBranch(Branch branch){
                     return Mono.empty();
                 }
+            };
+        }
+
+        @Bean
+        public ProductStockChangeBus productStockChangeBus() {
+            return new ProductStockChangeBus() {
+                @Override
+                public Mono<Void> publish(ProductStockChange change){
+                    return Mono.empty();
+                }
+                @Override
+                public Flux<ProductStockChange> subscribeToFranchise(Long franchiseId){
+                    return Flux.empty();
+                }
                 @Override
-                public Flux<Product> findTopStockByBranchesInFranchise(Long franchiseId){
+                public Flux<ProductStockChange> subscribeToBranch(Long branchId){
                     return Flux.empty();
                 }
             };
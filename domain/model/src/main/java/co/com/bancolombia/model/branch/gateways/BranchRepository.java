@@ -1,10 +1,14 @@
 package co.com.bancolombia.model.branch.gateways;
 
 import co.com.bancolombia.model.branch.Branch;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface BranchRepository {
     Mono<Branch> save(Branch branch);
     Mono<Branch> findById(Long id);
+    Mono<Branch> updateName(Long id, String name);
+    Flux<Branch> findByFranchiseIdAfter(Long franchiseId, Long afterId, int limit);
+    Flux<Branch> findAll();
 
 }
@@ -7,7 +7,10 @@ public enum ErrorCode {
     B400001("B400-001", "Invalid format: %s", 400),
     B404001("B404-001", "Franchise not found", 404),
     B404002("B404-002", "Branch not found", 404),
-    B404003("B404-003", "Product not found", 404);
+    B404003("B404-003", "Product not found", 404),
+    B409001("B409-001", "Insufficient stock", 409),
+    B409002("B409-002", "Stock adjustment out of range", 409),
+    B412001("B412-001", "Product was modified by another request", 412);
 
 
 
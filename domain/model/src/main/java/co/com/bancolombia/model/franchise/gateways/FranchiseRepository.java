@@ -7,4 +7,6 @@ public interface FranchiseRepository {
     Mono<Franchise> save(Franchise franchise);
 
     Mono<Franchise> findById(Long id);
+
+    Mono<Franchise> updateName(Long id, String name);
 }
@@ -0,0 +1,32 @@
+package co.com.bancolombia.model.page;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class KeysetPage<T> {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    /**
+     * Builds a page from a window fetched with {@code limit + 1} rows; the extra row only signals
+     * that another page exists and is never returned.
+     */
+    public static <T> KeysetPage<T> of(List<T> window, int limit, Function<T, Long> idFn) {
+        if (window.size() <= limit) {
+            return new KeysetPage<>(window, null);
+        }
+        List<T> items = window.subList(0, limit);
+        return new KeysetPage<>(List.copyOf(items), idFn.apply(items.getLast()));
+    }
+}
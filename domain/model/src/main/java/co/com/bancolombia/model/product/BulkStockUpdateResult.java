@@ -0,0 +1,16 @@
+package co.com.bancolombia.model.product;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BulkStockUpdateResult {
+    private int updated;
+    private List<Long> notFoundIds;
+}
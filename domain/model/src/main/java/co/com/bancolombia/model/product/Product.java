@@ -13,4 +13,5 @@ public class Product {
     private String name;
     private Integer stock;
     private Long branchId;
+    private Long version;
 }
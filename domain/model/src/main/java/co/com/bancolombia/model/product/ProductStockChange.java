@@ -0,0 +1,31 @@
+package co.com.bancolombia.model.product;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductStockChange {
+    private Long productId;
+    private String name;
+    private Integer stock;
+    private Long branchId;
+    private Long franchiseId;
+    private boolean deleted;
+
+    public static ProductStockChange of(Product product) {
+        return ProductStockChange.builder()
+                .productId(product.getId())
+                .name(product.getName())
+                .stock(product.getStock())
+                .branchId(product.getBranchId())
+                .build();
+    }
+
+    public static ProductStockChange deletionOf(Product product) {
+        return of(product).toBuilder().deleted(true).build();
+    }
+}
@@ -0,0 +1,14 @@
+package co.com.bancolombia.model.product;
+import lombok.Builder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductStockUpdate {
+    private Long productId;
+    private Integer stock;
+}
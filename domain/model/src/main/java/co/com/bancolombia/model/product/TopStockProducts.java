@@ -0,0 +1,60 @@
+package co.com.bancolombia.model.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class TopStockProducts {
+    private String version;
+    private List<ProductWithBranch> products;
+
+    // The version is a digest of the payload, so every instance, and every reload of unchanged data, reports the same one.
+    public static TopStockProducts of(List<ProductWithBranch> products) {
+        return TopStockProducts.builder()
+                .version(digest(products))
+                .products(products)
+                .build();
+    }
+
+    private static String digest(List<ProductWithBranch> products) {
+        MessageDigest digest = sha256();
+        for (ProductWithBranch productWithBranch : products) {
+            Product product = productWithBranch.getProduct();
+            update(digest, product.getId());
+            update(digest, product.getName());
+            update(digest, product.getStock());
+            update(digest, productWithBranch.getBranch().getId());
+            update(digest, productWithBranch.getBranch().getName());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    // Length-prefixed, so adjacent fields can never run into each other.
+    private static void update(MessageDigest digest, Object value) {
+        byte[] bytes = Objects.toString(value, "").getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (value == null ? 0 : 1));
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package co.com.bancolombia.model.product.gateways;
 
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.ProductWithBranch;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface ProductRepository {
     Mono<Product> save(Product product);
     Mono<Product> findById(Long id);
-    Mono<Void> deleteById(Long id);
-    Flux<Product> findTopStockByBranchesInFranchise(Long franchiseId);
+    Mono<Product> deleteById(Long id);
+    Mono<Product> updateName(Long id, String name);
+    Mono<Product> updateStock(Long id, Integer stock);
+    Mono<Product> updateStock(Long id, Integer stock, Long expectedVersion);
+    Mono<Product> adjustStock(Long id, Integer delta, boolean allowNegative);
+    Flux<Product> updateStocks(Flux<ProductStockUpdate> updates);
+    Flux<Product> insertAll(Flux<Product> products);
+    Flux<ProductWithBranch> findTopStockWithBranchByFranchise(Long franchiseId);
+    Flux<Product> findByBranchIdAfter(Long branchId, Long afterId, int limit);
+    Flux<Product> findAll();
 }
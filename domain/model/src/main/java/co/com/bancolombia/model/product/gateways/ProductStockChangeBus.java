@@ -0,0 +1,11 @@
+package co.com.bancolombia.model.product.gateways;
+
+import co.com.bancolombia.model.product.ProductStockChange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ProductStockChangeBus {
+    Mono<Void> publish(ProductStockChange change);
+    Flux<ProductStockChange> subscribeToFranchise(Long franchiseId);
+    Flux<ProductStockChange> subscribeToBranch(Long branchId);
+}
@@ -0,0 +1,13 @@
+package co.com.bancolombia.model.product.gateways;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.TopStockProducts;
+import reactor.core.publisher.Mono;
+
+public interface TopStockIndex {
+    Mono<TopStockProducts> findTopStock(Long franchiseId);
+    Mono<Void> upsertProduct(Product product);
+    Mono<Void> removeProduct(Product product);
+    Mono<Void> upsertBranch(Branch branch);
+}
@@ -0,0 +1,14 @@
+package co.com.bancolombia.model.product.gateways;
+
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface TopStockProductsCache {
+    Mono<TopStockProducts> getOrLoad(Long franchiseId, Flux<ProductWithBranch> loader);
+    Mono<TopStockProducts> getIfPresent(Long franchiseId);
+    Mono<String> currentVersion(Long franchiseId);
+    Mono<Void> evictByBranch(Long branchId);
+    Mono<Void> evictAll();
+}
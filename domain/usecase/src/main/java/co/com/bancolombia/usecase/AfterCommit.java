@@ -0,0 +1,20 @@
+package co.com.bancolombia.usecase;
+
+import lombok.experimental.UtilityClass;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+@UtilityClass
+public class AfterCommit {
+    private static final Logger log = Loggers.getLogger(AfterCommit.class);
+
+    // Index, cache and stock-change updates run once the write committed; failing them would turn a stored write
+    // into an error a client retries, so they are logged and skipped instead.
+    public static Mono<Void> bestEffort(Mono<Void> sideEffect, String action, Object id) {
+        return sideEffect.onErrorResume(error -> {
+            log.warn("{} for {} failed after commit: {}", action, id, error.toString());
+            return Mono.empty();
+        });
+    }
+}
@@ -2,23 +2,19 @@ package co.com.bancolombia.usecase.addbranchtofranchise;
 
 import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
-import co.com.bancolombia.model.exception.BusinessException;
-import co.com.bancolombia.model.exception.ErrorCode;
-import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
 @RequiredArgsConstructor
 public class AddBranchToFranchiseUseCase {
-    private final FranchiseRepository franchiseGateway;
     private final BranchRepository branchGateway;
+    private final TopStockIndex topStockIndex;
 
     public Mono<Branch> addBranch(Long franchiseId, Branch branch){
-        return franchiseGateway.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
-                .flatMap(_ -> {
-                    branch.setFranchiseId(franchiseId);
-                    return branchGateway.save(branch);
-                });
+        return Mono.defer(() -> {
+            branch.setFranchiseId(franchiseId);
+            return branchGateway.save(branch);
+        }).flatMap(saved -> topStockIndex.upsertBranch(saved).thenReturn(saved));
     }
 }
@@ -1,24 +1,32 @@
 package co.com.bancolombia.usecase.addproducttobranch;
 
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
-import co.com.bancolombia.model.exception.BusinessException;
-import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
 @RequiredArgsConstructor
 public class AddProductToBranchUseCase {
-    private final BranchRepository branchGateway;
     private final ProductRepository productGateway;
+    private final TopStockProductsCache topStockProductsCache;
+    private final ProductStockChangeBus productStockChangeBus;
+    private final TopStockIndex topStockIndex;
 
     public Mono<Product> addProduct(Long branchId, Product product){
-        return branchGateway.findById(branchId)
-                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404002)))
-                .flatMap(_ -> {
-                    product.setBranchId(branchId);
-                    return productGateway.save(product);
-                });
+        return Mono.defer(() -> {
+            product.setBranchId(branchId);
+            return productGateway.save(product);
+        }).flatMap(saved -> bestEffort(topStockIndex.upsertProduct(saved), "Top-stock index update", saved.getId())
+                .then(bestEffort(topStockProductsCache.evictByBranch(saved.getBranchId()),
+                        "Top-products eviction", saved.getBranchId()))
+                .then(bestEffort(productStockChangeBus.publish(ProductStockChange.of(saved)),
+                        "Stock change publication", saved.getId()))
+                .thenReturn(saved));
     }
 }
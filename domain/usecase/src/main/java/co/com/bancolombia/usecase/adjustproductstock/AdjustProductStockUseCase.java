@@ -0,0 +1,46 @@
+package co.com.bancolombia.usecase.adjustproductstock;
+
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
+@RequiredArgsConstructor
+public class AdjustProductStockUseCase {
+    private final ProductRepository productRepository;
+    private final TopStockProductsCache topStockProductsCache;
+    private final ProductStockChangeBus productStockChangeBus;
+    private final TopStockIndex topStockIndex;
+
+    public Mono<Product> adjustStock(Long productId, Integer delta, boolean allowNegative) {
+        return productRepository.adjustStock(productId, delta, allowNegative)
+                .switchIfEmpty(Mono.defer(() -> resolveRejection(productId, delta)))
+                .flatMap(adjusted -> bestEffort(topStockIndex.upsertProduct(adjusted),
+                                "Top-stock index update", adjusted.getId())
+                        .then(bestEffort(topStockProductsCache.evictByBranch(adjusted.getBranchId()),
+                                "Top-products eviction", adjusted.getBranchId()))
+                        .then(bestEffort(productStockChangeBus.publish(ProductStockChange.of(adjusted)),
+                                "Stock change publication", adjusted.getId()))
+                        .thenReturn(adjusted));
+    }
+
+    private Mono<Product> resolveRejection(Long productId, Integer delta) {
+        return productRepository.findById(productId)
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404003)))
+                .flatMap(current -> Mono.error(new BusinessException(
+                        outOfRange(current.getStock(), delta) ? ErrorCode.B409002 : ErrorCode.B409001)));
+    }
+
+    private static boolean outOfRange(int stock, int delta) {
+        long adjusted = (long) stock + delta;
+        return adjusted > Integer.MAX_VALUE || adjusted < Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,73 @@
+package co.com.bancolombia.usecase.bulkupdateproductstock;
+
+import co.com.bancolombia.model.product.BulkStockUpdateResult;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
+@RequiredArgsConstructor
+public class BulkUpdateProductStockUseCase {
+    private final ProductRepository productRepository;
+    private final TopStockProductsCache topStockProductsCache;
+    private final ProductStockChangeBus productStockChangeBus;
+    private final TopStockIndex topStockIndex;
+
+    // Chunks commit one by one, so the branches of every committed row are evicted however the stream ends.
+    public Mono<BulkStockUpdateResult> updateStocks(Flux<ProductStockUpdate> updates) {
+        return Mono.usingWhen(Mono.fromSupplier(BulkUpdate::new),
+                bulk -> productRepository.updateStocks(updates.doOnNext(bulk::requested))
+                        .doOnNext(bulk::updated)
+                        .concatMap(updated -> bestEffort(topStockIndex.upsertProduct(updated),
+                                        "Top-stock index update", updated.getId())
+                                .then(bestEffort(productStockChangeBus.publish(ProductStockChange.of(updated)),
+                                        "Stock change publication", updated.getId())))
+                        .then(Mono.fromSupplier(bulk::result)),
+                this::evict,
+                (bulk, _) -> evict(bulk),
+                this::evict);
+    }
+
+    private Mono<Void> evict(BulkUpdate bulk) {
+        return Flux.fromIterable(bulk.branchIds)
+                .concatMap(branchId -> bestEffort(topStockProductsCache.evictByBranch(branchId),
+                        "Top-products eviction", branchId))
+                .then();
+    }
+
+    private static final class BulkUpdate {
+        private final Set<Long> requestedIds = new LinkedHashSet<>();
+        private final Set<Long> updatedIds = new HashSet<>();
+        private final Set<Long> branchIds = new LinkedHashSet<>();
+
+        private void requested(ProductStockUpdate update) {
+            requestedIds.add(update.getProductId());
+        }
+
+        private void updated(Product product) {
+            updatedIds.add(product.getId());
+            branchIds.add(product.getBranchId());
+        }
+
+        private BulkStockUpdateResult result() {
+            return BulkStockUpdateResult.builder()
+                    .updated(updatedIds.size())
+                    .notFoundIds(requestedIds.stream()
+                            .filter(id -> !updatedIds.contains(id))
+                            .toList())
+                    .build();
+        }
+    }
+}
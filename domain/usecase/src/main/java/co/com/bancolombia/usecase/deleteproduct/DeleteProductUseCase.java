@@ -2,17 +2,31 @@ package co.com.bancolombia.usecase.deleteproduct;
 
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.ProductStockChange;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
 @RequiredArgsConstructor
 public class DeleteProductUseCase {
     private final ProductRepository productGateway;
+    private final TopStockProductsCache topStockProductsCache;
+    private final ProductStockChangeBus productStockChangeBus;
+    private final TopStockIndex topStockIndex;
 
     public Mono<Void> deleteProduct(Long productId) {
-        return productGateway.findById(productId)
+        return productGateway.deleteById(productId)
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404003)))
-                .flatMap(product -> productGateway.deleteById(productId));
+                .flatMap(deleted -> bestEffort(topStockIndex.removeProduct(deleted),
+                                "Top-stock index removal", deleted.getId())
+                        .then(bestEffort(topStockProductsCache.evictByBranch(deleted.getBranchId()),
+                                "Top-products eviction", deleted.getBranchId()))
+                        .then(bestEffort(productStockChangeBus.publish(ProductStockChange.deletionOf(deleted)),
+                                "Stock change publication", deleted.getId())));
     }
 }
@@ -1,33 +1,43 @@
 package co.com.bancolombia.usecase.gettopstockproductsbyfranchise;
 
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
-import co.com.bancolombia.model.exception.BusinessException;
-import co.com.bancolombia.model.exception.ErrorCode;
-import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Function;
+
 @RequiredArgsConstructor
 public class GetTopStockProductsByFranchiseUseCase {
 
-    private final FranchiseRepository franchiseRepository;
-    private final BranchRepository branchRepository;
     private final ProductRepository productRepository;
+    private final TopStockProductsCache topStockProductsCache;
+    private final TopStockIndex topStockIndex;
 
+    // The index answers first; the cached result, then the database, only serve franchises it cannot answer for.
     public Flux<ProductWithBranch> getTopStockProductsByFranchise(Long franchiseId) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
-                .flatMapMany(franchise ->
-                        productRepository.findTopStockByBranchesInFranchise(franchiseId)
-                ).flatMap(product -> branchRepository.findById(product.getBranchId())
-                        .map(branch -> ProductWithBranch.builder()
-                                .product(product)
-                                .branch(branch)
-                                .build())
-                );
+        return topStockIndex.findTopStock(franchiseId)
+                .switchIfEmpty(Mono.defer(() -> topStockProductsCache.getIfPresent(franchiseId)))
+                .map(snapshot -> Flux.fromIterable(snapshot.getProducts()))
+                .switchIfEmpty(Mono.fromSupplier(() -> productRepository.findTopStockWithBranchByFranchise(franchiseId)))
+                .flatMapMany(Function.identity());
+    }
+
+    public Mono<TopStockProducts> getTopStockProducts(Long franchiseId) {
+        return topStockIndex.findTopStock(franchiseId)
+                .switchIfEmpty(Mono.defer(() -> topStockProductsCache.getOrLoad(franchiseId,
+                        productRepository.findTopStockWithBranchByFranchise(franchiseId))));
+    }
+
+    // Version of the result already held for the franchise, empty when it would have to be loaded.
+    public Mono<String> currentVersion(Long franchiseId) {
+        return topStockIndex.findTopStock(franchiseId)
+                .map(TopStockProducts::getVersion)
+                .switchIfEmpty(Mono.defer(() -> topStockProductsCache.currentVersion(franchiseId)));
     }
 
 }
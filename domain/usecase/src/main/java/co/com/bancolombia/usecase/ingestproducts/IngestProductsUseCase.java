@@ -0,0 +1,72 @@
+package co.com.bancolombia.usecase.ingestproducts;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
+@RequiredArgsConstructor
+public class IngestProductsUseCase {
+    private final BranchRepository branchGateway;
+    private final ProductRepository productGateway;
+    private final TopStockProductsCache topStockProductsCache;
+    private final ProductStockChangeBus productStockChangeBus;
+    private final TopStockIndex topStockIndex;
+
+    // insertAll commits chunk by chunk, so the branches of every committed row are evicted however the stream ends.
+    public Mono<Long> ingest(Flux<Product> products) {
+        return Mono.usingWhen(Mono.fromSupplier(Ingest::new),
+                ingest -> productGateway.insertAll(products.concatMap(product ->
+                                verifyBranch(ingest.verifiedBranches, product)))
+                        .doOnNext(ingest::inserted)
+                        .concatMap(inserted -> bestEffort(topStockIndex.upsertProduct(inserted),
+                                        "Top-stock index update", inserted.getId())
+                                .then(bestEffort(productStockChangeBus.publish(ProductStockChange.of(inserted)),
+                                        "Stock change publication", inserted.getId()))
+                                .thenReturn(inserted))
+                        .count(),
+                this::evict,
+                (ingest, _) -> evict(ingest),
+                this::evict);
+    }
+
+    private Mono<Void> evict(Ingest ingest) {
+        return Flux.fromIterable(ingest.insertedBranches)
+                .concatMap(branchId -> bestEffort(topStockProductsCache.evictByBranch(branchId),
+                        "Top-products eviction", branchId))
+                .then();
+    }
+
+    private Mono<Product> verifyBranch(Set<Long> verifiedBranches, Product product) {
+        if (verifiedBranches.contains(product.getBranchId())) {
+            return Mono.just(product);
+        }
+        return branchGateway.findById(product.getBranchId())
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404002)))
+                .doOnNext(branch -> verifiedBranches.add(branch.getId()))
+                .thenReturn(product);
+    }
+
+    private static final class Ingest {
+        private final Set<Long> verifiedBranches = new HashSet<>();
+        private final Set<Long> insertedBranches = new LinkedHashSet<>();
+
+        private void inserted(Product product) {
+            insertedBranches.add(product.getBranchId());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.usecase.listbranchproducts;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.page.KeysetPage;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ListBranchProductsUseCase {
+    private final BranchRepository branchRepository;
+    private final ProductRepository productRepository;
+
+    public Mono<KeysetPage<Product>> listProducts(Long branchId, Long afterId, Integer limit) {
+        int pageSize = limit == null ? KeysetPage.DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > KeysetPage.MAX_LIMIT) {
+            return Mono.error(new BusinessException(ErrorCode.B400001,
+                    "limit must be between 1 and " + KeysetPage.MAX_LIMIT));
+        }
+        // The branch lookup only runs for an empty page, any returned row already proves it exists.
+        return productRepository.findByBranchIdAfter(branchId, afterId == null ? 0L : afterId, pageSize + 1)
+                .collectList()
+                .filter(window -> !window.isEmpty())
+                .switchIfEmpty(Mono.defer(() -> branchRepository.findById(branchId)
+                        .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404002)))
+                        .thenReturn(List.<Product>of())))
+                .map(window -> KeysetPage.of(window, pageSize, Product::getId));
+    }
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.usecase.listfranchisebranches;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.page.KeysetPage;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ListFranchiseBranchesUseCase {
+    private final FranchiseRepository franchiseRepository;
+    private final BranchRepository branchRepository;
+
+    public Mono<KeysetPage<Branch>> listBranches(Long franchiseId, Long afterId, Integer limit) {
+        int pageSize = limit == null ? KeysetPage.DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > KeysetPage.MAX_LIMIT) {
+            return Mono.error(new BusinessException(ErrorCode.B400001,
+                    "limit must be between 1 and " + KeysetPage.MAX_LIMIT));
+        }
+        // The franchise lookup only runs for an empty page, any returned row already proves it exists.
+        return branchRepository.findByFranchiseIdAfter(franchiseId, afterId == null ? 0L : afterId, pageSize + 1)
+                .collectList()
+                .filter(window -> !window.isEmpty())
+                .switchIfEmpty(Mono.defer(() -> franchiseRepository.findById(franchiseId)
+                        .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
+                        .thenReturn(List.<Branch>of())))
+                .map(window -> KeysetPage.of(window, pageSize, Branch::getId));
+    }
+}
@@ -0,0 +1,31 @@
+package co.com.bancolombia.usecase.subscribeproductstockchanges;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class SubscribeProductStockChangesUseCase {
+    private final FranchiseRepository franchiseRepository;
+    private final BranchRepository branchRepository;
+    private final ProductStockChangeBus productStockChangeBus;
+
+    // The lookup resolves before the stream is handed out, so a missing id fails before anything is streamed.
+    public Mono<Flux<ProductStockChange>> subscribeToFranchise(Long franchiseId) {
+        return franchiseRepository.findById(franchiseId)
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
+                .map(_ -> productStockChangeBus.subscribeToFranchise(franchiseId));
+    }
+
+    public Mono<Flux<ProductStockChange>> subscribeToBranch(Long branchId) {
+        return branchRepository.findById(branchId)
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404002)))
+                .map(_ -> productStockChangeBus.subscribeToBranch(branchId));
+    }
+}
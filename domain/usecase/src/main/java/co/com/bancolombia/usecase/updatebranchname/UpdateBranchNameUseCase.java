@@ -4,17 +4,26 @@ import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
 @RequiredArgsConstructor
 public class UpdateBranchNameUseCase {
     private final BranchRepository branchRepository;
+    private final TopStockProductsCache topStockProductsCache;
+    private final TopStockIndex topStockIndex;
 
     public Mono<Branch> updateName(Long branchId, String newName) {
-        return branchRepository.findById(branchId)
+        return branchRepository.updateName(branchId, newName)
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404002)))
-                .map(branch -> branch.toBuilder().name(newName).build())
-                .flatMap(branchRepository::save);
+                .flatMap(updated -> bestEffort(topStockIndex.upsertBranch(updated),
+                                "Top-stock index update", updated.getId())
+                        .then(bestEffort(topStockProductsCache.evictByBranch(updated.getId()),
+                                "Top-products eviction", updated.getId()))
+                        .thenReturn(updated));
     }
 }
@@ -12,9 +12,7 @@ public class UpdateFranchiseNameUseCase {
     private final FranchiseRepository franchiseRepository;
 
     public Mono<Franchise> updateName(Long franchiseId, String newName) {
-        return franchiseRepository.findById(franchiseId)
-                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
-                .map(franchise -> franchise.toBuilder().name(newName).build())
-                .flatMap(franchiseRepository::save);
+        return franchiseRepository.updateName(franchiseId, newName)
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)));
     }
 }
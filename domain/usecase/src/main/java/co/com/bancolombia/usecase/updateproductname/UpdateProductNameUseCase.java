@@ -4,17 +4,26 @@ import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
 @RequiredArgsConstructor
 public class UpdateProductNameUseCase {
     private final ProductRepository productRepository;
+    private final TopStockProductsCache topStockProductsCache;
+    private final TopStockIndex topStockIndex;
 
     public Mono<Product> updateName(Long productId, String newName) {
-        return productRepository.findById(productId)
+        return productRepository.updateName(productId, newName)
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404003)))
-                .map(product -> product.toBuilder().name(newName).build())
-                .flatMap(productRepository::save);
+                .flatMap(updated -> bestEffort(topStockIndex.upsertProduct(updated),
+                                "Top-stock index update", updated.getId())
+                        .then(bestEffort(topStockProductsCache.evictByBranch(updated.getBranchId()),
+                                "Top-products eviction", updated.getBranchId()))
+                        .thenReturn(updated));
     }
 }
@@ -3,18 +3,55 @@ package co.com.bancolombia.usecase.updateproductstock;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static co.com.bancolombia.usecase.AfterCommit.bestEffort;
+
 @RequiredArgsConstructor
 public class UpdateProductStockUseCase {
     private final ProductRepository productRepository;
+    private final TopStockProductsCache topStockProductsCache;
+    private final ProductStockChangeBus productStockChangeBus;
+    private final TopStockIndex topStockIndex;
 
     public Mono<Product> updateStock(Long productId, Integer newStock) {
+        return productRepository.updateStock(productId, newStock)
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404003)))
+                .flatMap(this::afterUpdate);
+    }
+
+    public Mono<Product> updateStock(Long productId, Integer newStock, Long expectedVersion) {
+        // The conditional update comes back empty both for a missing product and for a stale version.
+        return productRepository.updateStock(productId, newStock, expectedVersion)
+                .switchIfEmpty(Mono.defer(() -> productRepository.findById(productId)
+                        .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404003)))
+                        .flatMap(_ -> Mono.error(new BusinessException(ErrorCode.B412001)))))
+                .flatMap(this::afterUpdate);
+    }
+
+    // Several accepted versions resolve against the current one; the update itself stays conditional on it.
+    public Mono<Product> updateStock(Long productId, Integer newStock, List<Long> expectedVersions) {
         return productRepository.findById(productId)
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404003)))
-                .map(product -> product.toBuilder().stock(newStock).build())
-                .flatMap(productRepository::save);
+                .flatMap(current -> expectedVersions.contains(current.getVersion())
+                        ? updateStock(productId, newStock, current.getVersion())
+                        : Mono.error(new BusinessException(ErrorCode.B412001)));
+    }
+
+    private Mono<Product> afterUpdate(Product product) {
+        return bestEffort(topStockIndex.upsertProduct(product), "Top-stock index update", product.getId())
+                .then(bestEffort(topStockProductsCache.evictByBranch(product.getBranchId()),
+                        "Top-products eviction", product.getBranchId()))
+                .then(bestEffort(productStockChangeBus.publish(ProductStockChange.of(product)),
+                        "Stock change publication", product.getId()))
+                .thenReturn(product);
     }
 }
@@ -1,11 +1,10 @@
 package co.com.bancolombia.usecase.addbranchtofranchise;
 
-import co.com.bancolombia.model.branch.Branch;
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
-import co.com.bancolombia.model.franchise.Franchise;
-import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +16,6 @@ import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,24 +23,18 @@ import static org.mockito.Mockito.when;
 class AddBranchToFranchiseUseCaseTest {
 
     @Mock
-    private FranchiseRepository franchiseGateway;
+    private BranchRepository branchGateway;
 
     @Mock
-    private BranchRepository branchGateway;
+    private TopStockIndex topStockIndex;
 
     @InjectMocks
     private AddBranchToFranchiseUseCase useCase;
 
-    private Franchise franchise;
     private Branch branch;
 
     @BeforeEach
     void setUp() {
-        franchise = Franchise.builder()
-                .id(1L)
-                .name("Test Franchise")
-                .build();
-
         branch = Branch.builder()
                 .name("Test Branch")
                 .build();
@@ -57,8 +49,8 @@ class AddBranchToFranchiseUseCaseTest {
                 .franchiseId(franchiseId)
                 .build();
 
-        when(franchiseGateway.findById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchGateway.save(any(Branch.class))).thenReturn(Mono.just(savedBranch));
+        when(topStockIndex.upsertBranch(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.addBranch(franchiseId, branch))
                 .expectNextMatches(result ->
@@ -68,14 +60,14 @@ class AddBranchToFranchiseUseCaseTest {
                 )
                 .verifyComplete();
 
-        verify(franchiseGateway).findById(franchiseId);
         verify(branchGateway).save(any(Branch.class));
     }
 
     @Test
-    void addBranch_WhenFranchiseNotFound_ShouldThrowBusinessException() {
+    void addBranch_WhenFranchiseNotFound_ShouldPropagateBusinessException() {
         Long franchiseId = 999L;
-        when(franchiseGateway.findById(franchiseId)).thenReturn(Mono.empty());
+        when(branchGateway.save(any(Branch.class)))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B404001)));
 
         StepVerifier.create(useCase.addBranch(franchiseId, branch))
                 .expectErrorMatches(error ->
@@ -84,8 +76,7 @@ class AddBranchToFranchiseUseCaseTest {
                 )
                 .verify();
 
-        verify(franchiseGateway).findById(franchiseId);
-        verify(branchGateway, never()).save(any(Branch.class));
+        verify(branchGateway).save(any(Branch.class));
     }
 
     @Test
@@ -97,8 +88,8 @@ class AddBranchToFranchiseUseCaseTest {
                 .franchiseId(franchiseId)
                 .build();
 
-        when(franchiseGateway.findById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchGateway.save(any(Branch.class))).thenReturn(Mono.just(savedBranch));
+        when(topStockIndex.upsertBranch(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.addBranch(franchiseId, branch))
                 .expectNextCount(1)
@@ -112,7 +103,6 @@ class AddBranchToFranchiseUseCaseTest {
         Long franchiseId = 1L;
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(franchiseGateway.findById(franchiseId)).thenReturn(Mono.just(franchise));
         when(branchGateway.save(any(Branch.class))).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.addBranch(franchiseId, branch))
@@ -1,11 +1,12 @@
 package co.com.bancolombia.usecase.addproducttobranch;
 
-import co.com.bancolombia.model.branch.Branch;
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +18,6 @@ import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,24 +25,24 @@ import static org.mockito.Mockito.when;
 class AddProductToBranchUseCaseTest {
 
     @Mock
-    private BranchRepository branchGateway;
+    private ProductRepository productGateway;
 
     @Mock
-    private ProductRepository productGateway;
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @Mock
+    private TopStockIndex topStockIndex;
 
     @InjectMocks
     private AddProductToBranchUseCase useCase;
 
-    private Branch branch;
     private Product product;
 
     @BeforeEach
     void setUp() {
-        branch = Branch.builder()
-                .id(1L)
-                .name("Test Branch")
-                .build();
-
         product = Product.builder()
                 .name("Test Product")
                 .stock(10)
@@ -59,8 +59,10 @@ class AddProductToBranchUseCaseTest {
                 .branchId(branchId)
                 .build();
 
-        when(branchGateway.findById(branchId)).thenReturn(Mono.just(branch));
         when(productGateway.save(any(Product.class))).thenReturn(Mono.just(savedProduct));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.addProduct(branchId, product))
                 .expectNextMatches(result ->
@@ -70,14 +72,16 @@ class AddProductToBranchUseCaseTest {
                 )
                 .verifyComplete();
 
-        verify(branchGateway).findById(branchId);
         verify(productGateway).save(any(Product.class));
+        verify(productStockChangeBus).publish(argThat(change ->
+                change.getProductId().equals(1L) && change.getStock().equals(10)));
     }
 
     @Test
-    void addProduct_WhenBranchNotFound_ShouldThrowBusinessException() {
+    void addProduct_WhenBranchNotFound_ShouldPropagateBusinessException() {
         Long branchId = 999L;
-        when(branchGateway.findById(branchId)).thenReturn(Mono.empty());
+        when(productGateway.save(any(Product.class)))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B404002)));
 
         StepVerifier.create(useCase.addProduct(branchId, product))
                 .expectErrorMatches(error ->
@@ -86,8 +90,7 @@ class AddProductToBranchUseCaseTest {
                 )
                 .verify();
 
-        verify(branchGateway).findById(branchId);
-        verify(productGateway, never()).save(any(Product.class));
+        verify(productGateway).save(any(Product.class));
     }
 
     @Test
@@ -100,8 +103,10 @@ class AddProductToBranchUseCaseTest {
                 .branchId(branchId)
                 .build();
 
-        when(branchGateway.findById(branchId)).thenReturn(Mono.just(branch));
         when(productGateway.save(any(Product.class))).thenReturn(Mono.just(savedProduct));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.addProduct(branchId, product))
                 .expectNextCount(1)
@@ -115,7 +120,6 @@ class AddProductToBranchUseCaseTest {
         Long branchId = 1L;
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(branchGateway.findById(branchId)).thenReturn(Mono.just(branch));
         when(productGateway.save(any(Product.class))).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.addProduct(branchId, product))
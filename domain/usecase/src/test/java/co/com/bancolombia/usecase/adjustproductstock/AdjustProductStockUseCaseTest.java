@@ -0,0 +1,134 @@
+package co.com.bancolombia.usecase.adjustproductstock;
+
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdjustProductStockUseCaseTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
+    @InjectMocks
+    private AdjustProductStockUseCase useCase;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(10)
+                .branchId(1L)
+                .build();
+    }
+
+    @Test
+    void adjustStock_WhenApplied_ShouldReturnNewStock() {
+        Product adjusted = product.toBuilder().stock(7).build();
+        when(productRepository.adjustStock(1L, -3, false)).thenReturn(Mono.just(adjusted));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.adjustStock(1L, -3, false))
+                .expectNextMatches(result -> result.getStock().equals(7))
+                .verifyComplete();
+
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void adjustStock_WhenEvictionAndPublishFail_ShouldStillReturnTheCommittedProduct() {
+        Product adjusted = product.toBuilder().stock(7).build();
+        when(productRepository.adjustStock(1L, -3, false)).thenReturn(Mono.just(adjusted));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.error(new RuntimeException("Timeout")));
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.error(new RuntimeException("Timeout")));
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.adjustStock(1L, -3, false))
+                .expectNextMatches(result -> result.getStock().equals(7))
+                .verifyComplete();
+
+        verify(productStockChangeBus).publish(any());
+    }
+
+    @Test
+    void adjustStock_WhenStockWouldGoNegative_ShouldThrowInsufficientStock() {
+        when(productRepository.adjustStock(1L, -30, false)).thenReturn(Mono.empty());
+        when(productRepository.findById(1L)).thenReturn(Mono.just(product));
+
+        StepVerifier.create(useCase.adjustStock(1L, -30, false))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B409001
+                )
+                .verify();
+    }
+
+    @Test
+    void adjustStock_WhenResultWouldOverflow_ShouldThrowOutOfRange() {
+        when(productRepository.adjustStock(1L, Integer.MAX_VALUE, true)).thenReturn(Mono.empty());
+        when(productRepository.findById(1L)).thenReturn(Mono.just(product));
+
+        StepVerifier.create(useCase.adjustStock(1L, Integer.MAX_VALUE, true))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B409002
+                )
+                .verify();
+    }
+
+    @Test
+    void adjustStock_WhenProductNotFound_ShouldThrowBusinessException() {
+        when(productRepository.adjustStock(999L, 5, false)).thenReturn(Mono.empty());
+        when(productRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.adjustStock(999L, 5, false))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404003
+                )
+                .verify();
+    }
+
+    @Test
+    void adjustStock_WhenRepositoryFails_ShouldPropagateError() {
+        RuntimeException exception = new RuntimeException("Database error");
+        when(productRepository.adjustStock(1L, 5, true)).thenReturn(Mono.error(exception));
+
+        StepVerifier.create(useCase.adjustStock(1L, 5, true))
+                .expectErrorMatches(error -> error.getMessage().equals("Database error"))
+                .verify();
+
+        verify(productRepository, never()).findById(any());
+    }
+}
@@ -0,0 +1,148 @@
+package co.com.bancolombia.usecase.bulkupdateproductstock;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUpdateProductStockUseCaseTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
+    @InjectMocks
+    private BulkUpdateProductStockUseCase useCase;
+
+    private static Product updated(ProductStockUpdate update) {
+        return Product.builder()
+                .id(update.getProductId())
+                .name("Product " + update.getProductId())
+                .stock(update.getStock())
+                .branchId(update.getProductId() == 3L ? 2L : 1L)
+                .version(4L)
+                .build();
+    }
+
+    @Test
+    void updateStocks_ShouldReportIdsThatWereNotUpdated() {
+        when(productRepository.updateStocks(any()))
+                .thenAnswer(invocation -> {
+                    Flux<ProductStockUpdate> updates = invocation.getArgument(0);
+                    return updates.filter(update -> update.getProductId() != 2L)
+                            .map(BulkUpdateProductStockUseCaseTest::updated);
+                });
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStocks(Flux.just(
+                        new ProductStockUpdate(1L, 10),
+                        new ProductStockUpdate(2L, 20),
+                        new ProductStockUpdate(3L, 30))))
+                .expectNextMatches(result ->
+                        result.getUpdated() == 2 &&
+                                result.getNotFoundIds().equals(List.of(2L))
+                )
+                .verifyComplete();
+
+        verify(topStockIndex).upsertProduct(argThat(product ->
+                product.getId().equals(3L) && product.getStock().equals(30) && product.getVersion().equals(4L)));
+        verify(productStockChangeBus).publish(argThat(change ->
+                change.getProductId().equals(1L) && change.getStock().equals(10) && change.getBranchId().equals(1L)));
+        verify(productStockChangeBus).publish(argThat(change ->
+                change.getProductId().equals(3L) && change.getStock().equals(30) && change.getBranchId().equals(2L)));
+        verify(productStockChangeBus, never()).publish(argThat(change -> change.getProductId().equals(2L)));
+        verify(topStockProductsCache).evictByBranch(1L);
+        verify(topStockProductsCache).evictByBranch(2L);
+        verify(topStockProductsCache, never()).evictAll();
+    }
+
+    @Test
+    void updateStocks_WhenEmpty_ShouldReportNothing() {
+        when(productRepository.updateStocks(any()))
+                .thenAnswer(invocation -> {
+                    Flux<ProductStockUpdate> updates = invocation.getArgument(0);
+                    return updates.map(BulkUpdateProductStockUseCaseTest::updated);
+                });
+
+        StepVerifier.create(useCase.updateStocks(Flux.empty()))
+                .expectNextMatches(result ->
+                        result.getUpdated() == 0 &&
+                                result.getNotFoundIds().isEmpty()
+                )
+                .verifyComplete();
+
+        verify(topStockProductsCache, never()).evictByBranch(any());
+        verify(productStockChangeBus, never()).publish(any());
+    }
+
+    @Test
+    void updateStocks_WhenALaterChunkFails_ShouldStillEvictCommittedBranches() {
+        when(productRepository.updateStocks(any()))
+                .thenReturn(Flux.just(updated(new ProductStockUpdate(1L, 10)))
+                        .concatWith(Flux.error(new RuntimeException("Database error"))));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStocks(Flux.just(
+                        new ProductStockUpdate(1L, 10),
+                        new ProductStockUpdate(3L, 30))))
+                .expectErrorMatches(error -> error.getMessage().equals("Database error"))
+                .verify();
+
+        verify(topStockProductsCache).evictByBranch(1L);
+        verify(productStockChangeBus).publish(argThat(change -> change.getProductId().equals(1L)));
+    }
+
+    @Test
+    void updateStocks_WhenEvictionFails_ShouldStillReportTheCommittedRows() {
+        when(productRepository.updateStocks(any()))
+                .thenReturn(Flux.just(updated(new ProductStockUpdate(1L, 10))));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.error(new RuntimeException("Timeout")));
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStocks(Flux.just(new ProductStockUpdate(1L, 10))))
+                .expectNextMatches(result -> result.getUpdated() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateStocks_WhenRepositoryFails_ShouldPropagateError() {
+        when(productRepository.updateStocks(any()))
+                .thenReturn(Flux.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(useCase.updateStocks(Flux.just(new ProductStockUpdate(1L, 10))))
+                .expectErrorMatches(error -> error.getMessage().equals("Database error"))
+                .verify();
+    }
+}
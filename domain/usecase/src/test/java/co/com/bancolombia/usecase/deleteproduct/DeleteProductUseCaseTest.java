@@ -4,6 +4,9 @@ import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +17,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -24,6 +28,15 @@ class DeleteProductUseCaseTest {
     @Mock
     private ProductRepository productGateway;
 
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
     @InjectMocks
     private DeleteProductUseCase useCase;
 
@@ -43,20 +56,24 @@ class DeleteProductUseCaseTest {
     void deleteProduct_WhenProductExists_ShouldDeleteProduct() {
         Long productId = 1L;
 
-        when(productGateway.findById(productId)).thenReturn(Mono.just(product));
-        when(productGateway.deleteById(productId)).thenReturn(Mono.empty());
+        when(productGateway.deleteById(productId)).thenReturn(Mono.just(product));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.removeProduct(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.deleteProduct(productId))
                 .verifyComplete();
 
-        verify(productGateway).findById(productId);
         verify(productGateway).deleteById(productId);
+        verify(productGateway, never()).findById(any());
+        verify(productStockChangeBus).publish(argThat(change ->
+                change.getProductId().equals(1L) && change.getBranchId().equals(1L) && change.isDeleted()));
     }
 
     @Test
     void deleteProduct_WhenProductNotFound_ShouldThrowBusinessException() {
         Long productId = 999L;
-        when(productGateway.findById(productId)).thenReturn(Mono.empty());
+        when(productGateway.deleteById(productId)).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.deleteProduct(productId))
                 .expectErrorMatches(error ->
@@ -65,8 +82,7 @@ class DeleteProductUseCaseTest {
                 )
                 .verify();
 
-        verify(productGateway).findById(productId);
-        verify(productGateway, never()).deleteById(any());
+        verify(productGateway).deleteById(productId);
     }
 
     @Test
@@ -74,7 +90,6 @@ class DeleteProductUseCaseTest {
         Long productId = 1L;
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(productGateway.findById(productId)).thenReturn(Mono.just(product));
         when(productGateway.deleteById(productId)).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.deleteProduct(productId))
@@ -84,7 +99,6 @@ class DeleteProductUseCaseTest {
                 )
                 .verify();
 
-        verify(productGateway).findById(productId);
         verify(productGateway).deleteById(productId);
     }
 }
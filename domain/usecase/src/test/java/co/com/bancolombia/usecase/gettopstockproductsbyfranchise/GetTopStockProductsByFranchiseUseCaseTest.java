@@ -1,14 +1,14 @@
 package co.com.bancolombia.usecase.gettopstockproductsbyfranchise;
 
 import co.com.bancolombia.model.branch.Branch;
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
-import co.com.bancolombia.model.franchise.Franchise;
-import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,7 +19,11 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,67 +33,66 @@ import static org.mockito.Mockito.when;
 class GetTopStockProductsByFranchiseUseCaseTest {
 
     @Mock
-    private FranchiseRepository franchiseRepository;
+    private ProductRepository productRepository;
 
     @Mock
-    private BranchRepository branchRepository;
+    private TopStockProductsCache topStockProductsCache;
 
     @Mock
-    private ProductRepository productRepository;
+    private TopStockIndex topStockIndex;
 
     @InjectMocks
     private GetTopStockProductsByFranchiseUseCase useCase;
 
-    private Franchise franchise;
-    private Branch branch1;
-    private Product product1;
+    private ProductWithBranch productWithBranch;
 
     @BeforeEach
     void setUp() {
-        franchise = Franchise.builder()
-                .id(1L)
-                .name("Test Franchise")
-                .build();
-
-        branch1 = Branch.builder()
+        Branch branch1 = Branch.builder()
                 .id(1L)
                 .name("Branch 1")
                 .franchiseId(1L)
                 .build();
 
-        product1 = Product.builder()
+        Product product1 = Product.builder()
                 .id(1L)
                 .name("Product 1")
                 .stock(50)
                 .branchId(1L)
                 .build();
+
+        productWithBranch = ProductWithBranch.builder()
+                .product(product1)
+                .branch(branch1)
+                .build();
+
+        lenient().when(topStockProductsCache.getOrLoad(any(), any()))
+                .thenAnswer(invocation -> invocation.<Flux<ProductWithBranch>>getArgument(1)
+                        .collectList()
+                        .map(products -> TopStockProducts.builder().version("v1").products(products).build()));
+        lenient().when(topStockProductsCache.getIfPresent(any())).thenReturn(Mono.empty());
+        lenient().when(topStockIndex.findTopStock(any())).thenReturn(Mono.empty());
     }
 
     @Test
     void getTopStockProductsByFranchise_WhenFranchiseExists_ShouldReturnProductsWithBranches() {
         Long franchiseId = 1L;
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(productRepository.findTopStockByBranchesInFranchise(franchiseId))
-                .thenReturn(Flux.just(product1));
-        when(branchRepository.findById(1L)).thenReturn(Mono.just(branch1));
+        when(productRepository.findTopStockWithBranchByFranchise(franchiseId))
+                .thenReturn(Flux.just(productWithBranch));
 
         StepVerifier.create(useCase.getTopStockProductsByFranchise(franchiseId))
-                .expectNext(ProductWithBranch.builder()
-                        .product(product1)
-                        .branch(branch1)
-                        .build())
+                .expectNext(productWithBranch)
                 .verifyComplete();
 
-        verify(franchiseRepository).findById(franchiseId);
-        verify(productRepository).findTopStockByBranchesInFranchise(franchiseId);
-        verify(branchRepository).findById(1L);
+        verify(productRepository).findTopStockWithBranchByFranchise(franchiseId);
     }
 
     @Test
     void getTopStockProductsByFranchise_WhenFranchiseNotFound_ShouldThrowBusinessException() {
         Long franchiseId = 999L;
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.empty());
+        when(productRepository.findTopStockWithBranchByFranchise(franchiseId))
+                .thenReturn(Flux.error(new BusinessException(ErrorCode.B404001)));
 
         StepVerifier.create(useCase.getTopStockProductsByFranchise(franchiseId))
                 .expectErrorMatches(error ->
@@ -98,41 +101,80 @@ class GetTopStockProductsByFranchiseUseCaseTest {
                 )
                 .verify();
 
-        verify(franchiseRepository).findById(franchiseId);
-        verify(productRepository, never()).findTopStockByBranchesInFranchise(any());
-        verify(branchRepository, never()).findById(any());
+        verify(productRepository).findTopStockWithBranchByFranchise(franchiseId);
     }
 
     @Test
     void getTopStockProductsByFranchise_WhenNoProducts_ShouldReturnEmpty() {
         Long franchiseId = 1L;
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(productRepository.findTopStockByBranchesInFranchise(franchiseId))
+        when(productRepository.findTopStockWithBranchByFranchise(franchiseId))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(useCase.getTopStockProductsByFranchise(franchiseId))
                 .verifyComplete();
 
-        verify(franchiseRepository).findById(franchiseId);
-        verify(productRepository).findTopStockByBranchesInFranchise(franchiseId);
-        verify(branchRepository, never()).findById(any());
+        verify(productRepository).findTopStockWithBranchByFranchise(franchiseId);
     }
 
     @Test
-    void getTopStockProductsByFranchise_ShouldCreateCorrectProductWithBranchMapping() {
+    void getTopStockProductsByFranchise_WhenCached_ShouldServeTheCachedResult() {
         Long franchiseId = 1L;
+        when(productRepository.findTopStockWithBranchByFranchise(franchiseId)).thenReturn(Flux.empty());
+        when(topStockProductsCache.getOrLoad(eq(franchiseId), any())).thenReturn(Mono.just(TopStockProducts.builder()
+                .version("v7")
+                .products(List.of(productWithBranch))
+                .build()));
+
+        StepVerifier.create(useCase.getTopStockProducts(franchiseId))
+                .expectNextMatches(result -> result.getVersion().equals("v7") &&
+                        result.getProducts().equals(List.of(productWithBranch)))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTopStockProductsByFranchise_WhenCached_ShouldStreamTheCachedResult() {
+        Long franchiseId = 1L;
+        when(topStockProductsCache.getIfPresent(franchiseId)).thenReturn(Mono.just(TopStockProducts.builder()
+                .version("v7")
+                .products(List.of(productWithBranch))
+                .build()));
+
+        StepVerifier.create(useCase.getTopStockProductsByFranchise(franchiseId))
+                .expectNext(productWithBranch)
+                .verifyComplete();
+
+        verify(productRepository, never()).findTopStockWithBranchByFranchise(any());
+    }
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(productRepository.findTopStockByBranchesInFranchise(franchiseId))
-                .thenReturn(Flux.just(product1));
-        when(branchRepository.findById(1L)).thenReturn(Mono.just(branch1));
+    @Test
+    void getTopStockProductsByFranchise_WhenIndexed_ShouldNotQueryTheDatabase() {
+        Long franchiseId = 1L;
+        when(topStockIndex.findTopStock(franchiseId)).thenReturn(Mono.just(TopStockProducts.builder()
+                .version("ie-3")
+                .products(List.of(productWithBranch))
+                .build()));
 
         StepVerifier.create(useCase.getTopStockProductsByFranchise(franchiseId))
-                .assertNext(result -> {
-                    assert result.getProduct().equals(product1);
-                    assert result.getBranch().equals(branch1);
-                })
+                .expectNext(productWithBranch)
                 .verifyComplete();
+        StepVerifier.create(useCase.currentVersion(franchiseId))
+                .expectNext("ie-3")
+                .verifyComplete();
+
+        verify(productRepository, never()).findTopStockWithBranchByFranchise(any());
+        verify(topStockProductsCache, never()).getOrLoad(any(), any());
+    }
+
+    @Test
+    void currentVersion_ShouldNotLoadTheProducts() {
+        Long franchiseId = 1L;
+        when(topStockProductsCache.currentVersion(franchiseId)).thenReturn(Mono.just("v7"));
+
+        StepVerifier.create(useCase.currentVersion(franchiseId))
+                .expectNext("v7")
+                .verifyComplete();
+
+        verify(productRepository, never()).findTopStockWithBranchByFranchise(any());
     }
 }
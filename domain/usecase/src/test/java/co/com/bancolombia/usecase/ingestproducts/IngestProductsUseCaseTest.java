@@ -0,0 +1,114 @@
+package co.com.bancolombia.usecase.ingestproducts;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IngestProductsUseCaseTest {
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
+    @InjectMocks
+    private IngestProductsUseCase useCase;
+
+    private static Product product(String name, Long branchId) {
+        return Product.builder().name(name).stock(1).branchId(branchId).build();
+    }
+
+    @Test
+    void ingest_ShouldCheckEachDistinctBranchOnce() {
+        when(branchRepository.findById(1L)).thenReturn(Mono.just(Branch.builder().id(1L).build()));
+        when(branchRepository.findById(2L)).thenReturn(Mono.just(Branch.builder().id(2L).build()));
+        when(productRepository.insertAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.ingest(Flux.just(
+                        product("A", 1L),
+                        product("B", 1L),
+                        product("C", 2L),
+                        product("D", 1L))))
+                .expectNext(4L)
+                .verifyComplete();
+
+        verify(branchRepository, times(1)).findById(1L);
+        verify(branchRepository, times(1)).findById(2L);
+        verify(topStockProductsCache).evictByBranch(1L);
+        verify(topStockProductsCache).evictByBranch(2L);
+        verify(productStockChangeBus, times(4)).publish(any());
+        verify(productStockChangeBus, times(3)).publish(argThat(change -> change.getBranchId().equals(1L)));
+    }
+
+    @Test
+    void ingest_WhenALaterChunkFails_ShouldStillEvictCommittedBranches() {
+        when(branchRepository.findById(1L)).thenReturn(Mono.just(Branch.builder().id(1L).build()));
+        when(productRepository.insertAll(any()))
+                .thenAnswer(invocation -> {
+                    Flux<Product> products = invocation.getArgument(0);
+                    return products.take(1).concatWith(Flux.error(new RuntimeException("Database error")));
+                });
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.ingest(Flux.just(product("A", 1L), product("B", 1L))))
+                .expectErrorMatches(error -> error.getMessage().equals("Database error"))
+                .verify();
+
+        verify(topStockProductsCache).evictByBranch(1L);
+        verify(productStockChangeBus, times(1)).publish(any());
+    }
+
+    @Test
+    void ingest_WhenBranchNotFound_ShouldThrowBusinessException() {
+        when(branchRepository.findById(9L)).thenReturn(Mono.empty());
+        when(productRepository.insertAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(useCase.ingest(Flux.just(product("A", 9L))))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404002
+                )
+                .verify();
+
+        verify(productStockChangeBus, never()).publish(any());
+    }
+}
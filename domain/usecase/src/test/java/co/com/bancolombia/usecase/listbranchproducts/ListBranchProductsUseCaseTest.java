@@ -0,0 +1,106 @@
+package co.com.bancolombia.usecase.listbranchproducts;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListBranchProductsUseCaseTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @InjectMocks
+    private ListBranchProductsUseCase useCase;
+
+    private static Product product(long id) {
+        return Product.builder().id(id).name("Product " + id).stock(10).branchId(1L).build();
+    }
+
+    @Test
+    void listProducts_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        when(productRepository.findByBranchIdAfter(1L, 0L, 3))
+                .thenReturn(Flux.just(product(1L), product(2L), product(3L)));
+
+        StepVerifier.create(useCase.listProducts(1L, null, 2))
+                .expectNextMatches(page ->
+                        page.getItems().size() == 2 &&
+                                page.getItems().getLast().getId() == 2L &&
+                                page.getNextCursor() == 2L
+                )
+                .verifyComplete();
+
+        verify(branchRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void listProducts_WhenLastPage_ShouldReturnNullCursor() {
+        when(productRepository.findByBranchIdAfter(1L, 2L, 21))
+                .thenReturn(Flux.just(product(3L)));
+
+        StepVerifier.create(useCase.listProducts(1L, 2L, null))
+                .expectNextMatches(page ->
+                        page.getItems().size() == 1 &&
+                                page.getNextCursor() == null
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    void listProducts_WhenBranchHasNoProducts_ShouldReturnEmptyPage() {
+        when(productRepository.findByBranchIdAfter(1L, 0L, 21)).thenReturn(Flux.empty());
+        when(branchRepository.findById(1L))
+                .thenReturn(Mono.just(Branch.builder().id(1L).name("Branch").franchiseId(1L).build()));
+
+        StepVerifier.create(useCase.listProducts(1L, null, null))
+                .expectNextMatches(page -> page.getItems().isEmpty() && page.getNextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void listProducts_WhenBranchNotFound_ShouldThrowBusinessException() {
+        when(productRepository.findByBranchIdAfter(999L, 0L, 21)).thenReturn(Flux.empty());
+        when(branchRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.listProducts(999L, null, null))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404002
+                )
+                .verify();
+    }
+
+    @Test
+    void listProducts_WhenLimitOutOfBounds_ShouldThrowBusinessException() {
+        StepVerifier.create(useCase.listProducts(1L, null, 101))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B400001
+                )
+                .verify();
+
+        verify(productRepository, never()).findByBranchIdAfter(anyLong(), anyLong(), anyInt());
+        verifyNoInteractions(branchRepository);
+    }
+}
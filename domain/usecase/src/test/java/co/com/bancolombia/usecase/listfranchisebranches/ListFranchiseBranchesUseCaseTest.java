@@ -0,0 +1,106 @@
+package co.com.bancolombia.usecase.listfranchisebranches;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListFranchiseBranchesUseCaseTest {
+
+    @Mock
+    private FranchiseRepository franchiseRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @InjectMocks
+    private ListFranchiseBranchesUseCase useCase;
+
+    private static Branch branch(long id) {
+        return Branch.builder().id(id).name("Branch " + id).franchiseId(1L).build();
+    }
+
+    @Test
+    void listBranches_WhenMoreRowsExist_ShouldReturnNextCursor() {
+        when(branchRepository.findByFranchiseIdAfter(1L, 0L, 3))
+                .thenReturn(Flux.just(branch(1L), branch(2L), branch(3L)));
+
+        StepVerifier.create(useCase.listBranches(1L, null, 2))
+                .expectNextMatches(page ->
+                        page.getItems().size() == 2 &&
+                                page.getItems().getLast().getId() == 2L &&
+                                page.getNextCursor() == 2L
+                )
+                .verifyComplete();
+
+        verify(franchiseRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void listBranches_WhenLastPage_ShouldReturnNullCursor() {
+        when(branchRepository.findByFranchiseIdAfter(1L, 2L, 21))
+                .thenReturn(Flux.just(branch(3L)));
+
+        StepVerifier.create(useCase.listBranches(1L, 2L, null))
+                .expectNextMatches(page ->
+                        page.getItems().size() == 1 &&
+                                page.getNextCursor() == null
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    void listBranches_WhenFranchiseHasNoBranches_ShouldReturnEmptyPage() {
+        when(branchRepository.findByFranchiseIdAfter(1L, 0L, 21)).thenReturn(Flux.empty());
+        when(franchiseRepository.findById(1L))
+                .thenReturn(Mono.just(Franchise.builder().id(1L).name("Franchise").build()));
+
+        StepVerifier.create(useCase.listBranches(1L, null, null))
+                .expectNextMatches(page -> page.getItems().isEmpty() && page.getNextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void listBranches_WhenFranchiseNotFound_ShouldThrowBusinessException() {
+        when(branchRepository.findByFranchiseIdAfter(999L, 0L, 21)).thenReturn(Flux.empty());
+        when(franchiseRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.listBranches(999L, null, null))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404001
+                )
+                .verify();
+    }
+
+    @Test
+    void listBranches_WhenLimitOutOfBounds_ShouldThrowBusinessException() {
+        StepVerifier.create(useCase.listBranches(1L, null, 101))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B400001
+                )
+                .verify();
+
+        verify(branchRepository, never()).findByFranchiseIdAfter(anyLong(), anyLong(), anyInt());
+        verifyNoInteractions(franchiseRepository);
+    }
+}
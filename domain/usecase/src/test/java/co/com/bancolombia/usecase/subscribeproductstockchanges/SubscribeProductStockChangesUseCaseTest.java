@@ -0,0 +1,101 @@
+package co.com.bancolombia.usecase.subscribeproductstockchanges;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubscribeProductStockChangesUseCaseTest {
+
+    @Mock
+    private FranchiseRepository franchiseRepository;
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @InjectMocks
+    private SubscribeProductStockChangesUseCase useCase;
+
+    private ProductStockChange change;
+
+    @BeforeEach
+    void setUp() {
+        change = ProductStockChange.builder()
+                .productId(1L)
+                .name("Test Product")
+                .stock(10)
+                .branchId(1L)
+                .franchiseId(1L)
+                .build();
+    }
+
+    @Test
+    void subscribeToFranchise_WhenFranchiseExists_ShouldStreamItsChanges() {
+        when(franchiseRepository.findById(1L)).thenReturn(Mono.just(Franchise.builder().id(1L).name("Test").build()));
+        when(productStockChangeBus.subscribeToFranchise(1L)).thenReturn(Flux.just(change));
+
+        StepVerifier.create(useCase.subscribeToFranchise(1L).flatMapMany(changes -> changes))
+                .expectNext(change)
+                .verifyComplete();
+    }
+
+    @Test
+    void subscribeToFranchise_WhenFranchiseNotFound_ShouldNotSubscribe() {
+        when(franchiseRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.subscribeToFranchise(999L))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404001
+                )
+                .verify();
+
+        verify(productStockChangeBus, never()).subscribeToFranchise(any());
+    }
+
+    @Test
+    void subscribeToBranch_WhenBranchExists_ShouldStreamItsChanges() {
+        when(branchRepository.findById(1L)).thenReturn(Mono.just(Branch.builder().id(1L).name("Test").franchiseId(1L).build()));
+        when(productStockChangeBus.subscribeToBranch(1L)).thenReturn(Flux.just(change));
+
+        StepVerifier.create(useCase.subscribeToBranch(1L).flatMapMany(changes -> changes))
+                .expectNext(change)
+                .verifyComplete();
+    }
+
+    @Test
+    void subscribeToBranch_WhenBranchNotFound_ShouldNotSubscribe() {
+        when(branchRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.subscribeToBranch(999L))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404002
+                )
+                .verify();
+
+        verify(productStockChangeBus, never()).subscribeToBranch(any());
+    }
+}
@@ -1,9 +1,11 @@
 package co.com.bancolombia.usecase.updatebranchname;
 
-import co.com.bancolombia.model.branch.Branch;
-import co.com.bancolombia.model.branch.gateways.BranchRepository;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +16,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +26,12 @@ class UpdateBranchNameUseCaseTest {
     @Mock
     private BranchRepository branchRepository;
 
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
     @InjectMocks
     private UpdateBranchNameUseCase useCase;
 
@@ -45,26 +52,29 @@ class UpdateBranchNameUseCaseTest {
         String newName = "New Branch Name";
         Branch updatedBranch = branch.toBuilder().name(newName).build();
 
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(branchRepository.save(any(Branch.class))).thenReturn(Mono.just(updatedBranch));
+        when(branchRepository.updateName(branchId, newName)).thenReturn(Mono.just(updatedBranch));
+        when(topStockIndex.upsertBranch(any())).thenReturn(Mono.empty());
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateName(branchId, newName))
                 .expectNextMatches(result ->
                         result.getId().equals(1L) &&
-                                result.getName().equals("New Branch Name") &&
-                                result.getFranchiseId().equals(1L)
+                                result.getName().equals("New Branch Name")
                 )
                 .verifyComplete();
 
-        verify(branchRepository).findById(branchId);
-        verify(branchRepository).save(any(Branch.class));
+        verify(branchRepository).updateName(branchId, newName);
+        verify(branchRepository, never()).findById(any());
+        verify(topStockIndex).upsertBranch(updatedBranch);
+        verify(topStockProductsCache).evictByBranch(branchId);
+        verify(branchRepository, never()).save(any(Branch.class));
     }
 
     @Test
     void updateName_WhenBranchNotFound_ShouldThrowBusinessException() {
         Long branchId = 999L;
         String newName = "New Branch Name";
-        when(branchRepository.findById(branchId)).thenReturn(Mono.empty());
+        when(branchRepository.updateName(branchId, newName)).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateName(branchId, newName))
                 .expectErrorMatches(error ->
@@ -73,8 +83,8 @@ class UpdateBranchNameUseCaseTest {
                 )
                 .verify();
 
-        verify(branchRepository).findById(branchId);
-        verify(branchRepository, never()).save(any(Branch.class));
+        verify(branchRepository).updateName(branchId, newName);
+        verify(topStockProductsCache, never()).evictByBranch(any());
     }
 
     @Test
@@ -83,8 +93,7 @@ class UpdateBranchNameUseCaseTest {
         String newName = "New Branch Name";
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(branchRepository.save(any(Branch.class))).thenReturn(Mono.error(exception));
+        when(branchRepository.updateName(branchId, newName)).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.updateName(branchId, newName))
                 .expectErrorMatches(error ->
@@ -93,31 +102,6 @@ class UpdateBranchNameUseCaseTest {
                 )
                 .verify();
 
-        verify(branchRepository).findById(branchId);
-        verify(branchRepository).save(any(Branch.class));
-    }
-
-    @Test
-    void updateName_ShouldPreserveOtherBranchFields() {
-        Long branchId = 1L;
-        String newName = "Updated Name";
-        Branch updatedBranch = branch.toBuilder().name(newName).build();
-
-        when(branchRepository.findById(branchId)).thenReturn(Mono.just(branch));
-        when(branchRepository.save(any(Branch.class))).thenReturn(Mono.just(updatedBranch));
-
-        StepVerifier.create(useCase.updateName(branchId, newName))
-                .expectNextMatches(result ->
-                        result.getId().equals(branch.getId()) &&
-                                result.getFranchiseId().equals(branch.getFranchiseId()) &&
-                                result.getName().equals(newName)
-                )
-                .verifyComplete();
-
-        verify(branchRepository).save(argThat(b ->
-                b.getId().equals(branch.getId()) &&
-                        b.getFranchiseId().equals(branch.getFranchiseId()) &&
-                        b.getName().equals(newName)
-        ));
+        verify(branchRepository).updateName(branchId, newName);
     }
 }
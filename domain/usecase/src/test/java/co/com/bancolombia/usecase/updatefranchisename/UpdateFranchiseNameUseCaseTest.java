@@ -14,7 +14,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -44,8 +43,7 @@ class UpdateFranchiseNameUseCaseTest {
         String newName = "New Franchise Name";
         Franchise updatedFranchise = franchise.toBuilder().name(newName).build();
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(franchiseRepository.save(any(Franchise.class))).thenReturn(Mono.just(updatedFranchise));
+        when(franchiseRepository.updateName(franchiseId, newName)).thenReturn(Mono.just(updatedFranchise));
 
         StepVerifier.create(useCase.updateName(franchiseId, newName))
                 .expectNextMatches(result ->
@@ -54,15 +52,16 @@ class UpdateFranchiseNameUseCaseTest {
                 )
                 .verifyComplete();
 
-        verify(franchiseRepository).findById(franchiseId);
-        verify(franchiseRepository).save(any(Franchise.class));
+        verify(franchiseRepository).updateName(franchiseId, newName);
+        verify(franchiseRepository, never()).findById(any());
+        verify(franchiseRepository, never()).save(any(Franchise.class));
     }
 
     @Test
     void updateName_WhenFranchiseNotFound_ShouldThrowBusinessException() {
         Long franchiseId = 999L;
         String newName = "New Franchise Name";
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.empty());
+        when(franchiseRepository.updateName(franchiseId, newName)).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateName(franchiseId, newName))
                 .expectErrorMatches(error ->
@@ -71,8 +70,7 @@ class UpdateFranchiseNameUseCaseTest {
                 )
                 .verify();
 
-        verify(franchiseRepository).findById(franchiseId);
-        verify(franchiseRepository, never()).save(any(Franchise.class));
+        verify(franchiseRepository).updateName(franchiseId, newName);
     }
 
     @Test
@@ -81,8 +79,7 @@ class UpdateFranchiseNameUseCaseTest {
         String newName = "New Franchise Name";
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(franchiseRepository.save(any(Franchise.class))).thenReturn(Mono.error(exception));
+        when(franchiseRepository.updateName(franchiseId, newName)).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.updateName(franchiseId, newName))
                 .expectErrorMatches(error ->
@@ -91,29 +88,6 @@ class UpdateFranchiseNameUseCaseTest {
                 )
                 .verify();
 
-        verify(franchiseRepository).findById(franchiseId);
-        verify(franchiseRepository).save(any(Franchise.class));
-    }
-
-    @Test
-    void updateName_ShouldPreserveOtherFranchiseFields() {
-        Long franchiseId = 1L;
-        String newName = "Updated Name";
-        Franchise updatedFranchise = franchise.toBuilder().name(newName).build();
-
-        when(franchiseRepository.findById(franchiseId)).thenReturn(Mono.just(franchise));
-        when(franchiseRepository.save(any(Franchise.class))).thenReturn(Mono.just(updatedFranchise));
-
-        StepVerifier.create(useCase.updateName(franchiseId, newName))
-                .expectNextMatches(result ->
-                        result.getId().equals(franchise.getId()) &&
-                                result.getName().equals(newName)
-                )
-                .verifyComplete();
-
-        verify(franchiseRepository).save(argThat(f ->
-                f.getId().equals(franchise.getId()) &&
-                        f.getName().equals(newName)
-        ));
+        verify(franchiseRepository).updateName(franchiseId, newName);
     }
 }
@@ -4,6 +4,8 @@ import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +16,6 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +26,12 @@ class UpdateProductNameUseCaseTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
     @InjectMocks
     private UpdateProductNameUseCase useCase;
 
@@ -46,27 +53,27 @@ class UpdateProductNameUseCaseTest {
         String newName = "New Product Name";
         Product updatedProduct = product.toBuilder().name(newName).build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.save(any(Product.class))).thenReturn(Mono.just(updatedProduct));
+        when(productRepository.updateName(productId, newName)).thenReturn(Mono.just(updatedProduct));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateName(productId, newName))
                 .expectNextMatches(result ->
                         result.getId().equals(1L) &&
-                                result.getName().equals("New Product Name") &&
-                                result.getStock().equals(10) &&
-                                result.getBranchId().equals(1L)
+                                result.getName().equals("New Product Name")
                 )
                 .verifyComplete();
 
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).updateName(productId, newName);
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     void updateName_WhenProductNotFound_ShouldThrowBusinessException() {
         Long productId = 999L;
         String newName = "New Product Name";
-        when(productRepository.findById(productId)).thenReturn(Mono.empty());
+        when(productRepository.updateName(productId, newName)).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateName(productId, newName))
                 .expectErrorMatches(error ->
@@ -75,8 +82,7 @@ class UpdateProductNameUseCaseTest {
                 )
                 .verify();
 
-        verify(productRepository).findById(productId);
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository).updateName(productId, newName);
     }
 
     @Test
@@ -85,8 +91,7 @@ class UpdateProductNameUseCaseTest {
         String newName = "New Product Name";
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.save(any(Product.class))).thenReturn(Mono.error(exception));
+        when(productRepository.updateName(productId, newName)).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.updateName(productId, newName))
                 .expectErrorMatches(error ->
@@ -95,33 +100,6 @@ class UpdateProductNameUseCaseTest {
                 )
                 .verify();
 
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(any(Product.class));
-    }
-
-    @Test
-    void updateName_ShouldPreserveOtherProductFields() {
-        Long productId = 1L;
-        String newName = "Updated Name";
-        Product updatedProduct = product.toBuilder().name(newName).build();
-
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.save(any(Product.class))).thenReturn(Mono.just(updatedProduct));
-
-        StepVerifier.create(useCase.updateName(productId, newName))
-                .expectNextMatches(result ->
-                        result.getId().equals(product.getId()) &&
-                                result.getStock().equals(product.getStock()) &&
-                                result.getBranchId().equals(product.getBranchId()) &&
-                                result.getName().equals(newName)
-                )
-                .verifyComplete();
-
-        verify(productRepository).save(argThat(p ->
-                p.getId().equals(product.getId()) &&
-                        p.getStock().equals(product.getStock()) &&
-                        p.getBranchId().equals(product.getBranchId()) &&
-                        p.getName().equals(newName)
-        ));
+        verify(productRepository).updateName(productId, newName);
     }
 }
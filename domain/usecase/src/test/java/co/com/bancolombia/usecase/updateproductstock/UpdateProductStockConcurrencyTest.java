@@ -0,0 +1,81 @@
+package co.com.bancolombia.usecase.updateproductstock;
+
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class UpdateProductStockConcurrencyTest {
+    private static final int WRITERS = 200;
+
+    @Test
+    void concurrentWritersWithIfMatch_ShouldNotLoseUpdates() {
+        // Compare-and-set stands in for UPDATE ... WHERE id = :id AND version = :version.
+        AtomicReference<Product> row = new AtomicReference<>(Product.builder()
+                .id(1L).name("Hot Product").stock(0).branchId(1L).version(0L).build());
+
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        when(productRepository.findById(1L)).thenAnswer(_ -> Mono.fromSupplier(row::get));
+        when(productRepository.updateStock(eq(1L), anyInt(), anyLong())).thenAnswer(invocation ->
+                Mono.fromSupplier(() -> {
+                    Product current = row.get();
+                    if (!current.getVersion().equals(invocation.getArgument(2))) {
+                        return null;
+                    }
+                    Product next = current.toBuilder()
+                            .stock(invocation.getArgument(1))
+                            .version(current.getVersion() + 1)
+                            .build();
+                    return row.compareAndSet(current, next) ? next : null;
+                }));
+
+        TopStockProductsCache topStockProductsCache = Mockito.mock(TopStockProductsCache.class);
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+
+        ProductStockChangeBus productStockChangeBus = Mockito.mock(ProductStockChangeBus.class);
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+
+        TopStockIndex topStockIndex = Mockito.mock(TopStockIndex.class);
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        UpdateProductStockUseCase useCase = new UpdateProductStockUseCase(productRepository, topStockProductsCache,
+                productStockChangeBus, topStockIndex);
+
+        // Every writer does a read-modify-write of stock + 1 and retries when its version went stale.
+        Flux<Product> writers = Flux.range(0, WRITERS)
+                .flatMap(_ -> Mono.defer(() -> productRepository.findById(1L)
+                                .flatMap(read -> useCase.updateStock(1L, read.getStock() + 1, read.getVersion())))
+                        .retryWhen(Retry.indefinitely().filter(error -> error instanceof BusinessException business
+                                && business.getErrorCode() == ErrorCode.B412001))
+                        .subscribeOn(Schedulers.parallel()), WRITERS);
+
+        StepVerifier.create(writers)
+                .expectNextCount(WRITERS)
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+
+        Product result = row.get();
+        assertEquals(WRITERS, result.getStock());
+        assertEquals(WRITERS, result.getVersion().intValue());
+    }
+}
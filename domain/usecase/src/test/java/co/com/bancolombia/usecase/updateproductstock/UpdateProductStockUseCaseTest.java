@@ -4,6 +4,9 @@ import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
@@ -25,6 +30,15 @@ class UpdateProductStockUseCaseTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private TopStockProductsCache topStockProductsCache;
+
+    @Mock
+    private ProductStockChangeBus productStockChangeBus;
+
+    @Mock
+    private TopStockIndex topStockIndex;
+
     @InjectMocks
     private UpdateProductStockUseCase useCase;
 
@@ -46,8 +60,10 @@ class UpdateProductStockUseCaseTest {
         Integer newStock = 20;
         Product updatedProduct = product.toBuilder().stock(newStock).build();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.save(any(Product.class))).thenReturn(Mono.just(updatedProduct));
+        when(productRepository.updateStock(productId, newStock)).thenReturn(Mono.just(updatedProduct));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateStock(productId, newStock))
                 .expectNextMatches(result ->
@@ -58,15 +74,34 @@ class UpdateProductStockUseCaseTest {
                 )
                 .verifyComplete();
 
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).updateStock(productId, newStock);
+        verify(productStockChangeBus).publish(argThat(change ->
+                change.getProductId().equals(1L) && change.getStock().equals(20) && !change.isDeleted()));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void updateStock_WhenTheIndexUpdateFails_ShouldStillEvictPublishAndReturnTheProduct() {
+        Product updatedProduct = product.toBuilder().stock(20).build();
+        when(productRepository.updateStock(1L, 20)).thenReturn(Mono.just(updatedProduct));
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.error(new RuntimeException("Index unavailable")));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStock(1L, 20))
+                .expectNext(updatedProduct)
+                .verifyComplete();
+
+        verify(topStockProductsCache).evictByBranch(1L);
+        verify(productStockChangeBus).publish(any());
     }
 
     @Test
     void updateStock_WhenProductNotFound_ShouldThrowBusinessException() {
         Long productId = 999L;
         Integer newStock = 20;
-        when(productRepository.findById(productId)).thenReturn(Mono.empty());
+        when(productRepository.updateStock(productId, newStock)).thenReturn(Mono.empty());
 
         StepVerifier.create(useCase.updateStock(productId, newStock))
                 .expectErrorMatches(error ->
@@ -75,8 +110,7 @@ class UpdateProductStockUseCaseTest {
                 )
                 .verify();
 
-        verify(productRepository).findById(productId);
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository).updateStock(productId, newStock);
     }
 
     @Test
@@ -85,8 +119,7 @@ class UpdateProductStockUseCaseTest {
         Integer newStock = 20;
         RuntimeException exception = new RuntimeException("Database error");
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.save(any(Product.class))).thenReturn(Mono.error(exception));
+        when(productRepository.updateStock(productId, newStock)).thenReturn(Mono.error(exception));
 
         StepVerifier.create(useCase.updateStock(productId, newStock))
                 .expectErrorMatches(error ->
@@ -95,33 +128,79 @@ class UpdateProductStockUseCaseTest {
                 )
                 .verify();
 
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).updateStock(productId, newStock);
     }
 
     @Test
-    void updateStock_ShouldPreserveOtherProductFields() {
-        Long productId = 1L;
-        Integer newStock = 5;
-        Product updatedProduct = product.toBuilder().stock(newStock).build();
+    void updateStock_WhenVersionMatches_ShouldReturnNextVersion() {
+        Product updatedProduct = product.toBuilder().stock(20).version(4L).build();
+        when(productRepository.updateStock(1L, 20, 3L)).thenReturn(Mono.just(updatedProduct));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStock(1L, 20, 3L))
+                .expectNextMatches(result ->
+                        result.getStock().equals(20) &&
+                                result.getVersion().equals(4L)
+                )
+                .verifyComplete();
 
-        when(productRepository.findById(productId)).thenReturn(Mono.just(product));
-        when(productRepository.save(any(Product.class))).thenReturn(Mono.just(updatedProduct));
+        verify(productRepository, never()).findById(any());
+    }
 
-        StepVerifier.create(useCase.updateStock(productId, newStock))
-                .expectNextMatches(result ->
-                        result.getId().equals(product.getId()) &&
-                                result.getName().equals(product.getName()) &&
-                                result.getBranchId().equals(product.getBranchId()) &&
-                                result.getStock().equals(newStock)
+    @Test
+    void updateStock_WhenVersionIsStale_ShouldThrowPreconditionFailed() {
+        when(productRepository.updateStock(1L, 20, 2L)).thenReturn(Mono.empty());
+        when(productRepository.findById(1L)).thenReturn(Mono.just(product.toBuilder().version(3L).build()));
+
+        StepVerifier.create(useCase.updateStock(1L, 20, 2L))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B412001
+                )
+                .verify();
+    }
+
+    @Test
+    void updateStock_WhenVersionedProductNotFound_ShouldThrowBusinessException() {
+        when(productRepository.updateStock(999L, 20, 2L)).thenReturn(Mono.empty());
+        when(productRepository.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStock(999L, 20, 2L))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404003
                 )
+                .verify();
+    }
+
+    @Test
+    void updateStock_WhenOneOfTheVersionsMatches_ShouldUpdateConditionallyOnIt() {
+        Product current = product.toBuilder().version(4L).build();
+        Product updatedProduct = product.toBuilder().stock(20).version(5L).build();
+        when(productRepository.findById(1L)).thenReturn(Mono.just(current));
+        when(productRepository.updateStock(1L, 20, 4L)).thenReturn(Mono.just(updatedProduct));
+        when(topStockProductsCache.evictByBranch(any())).thenReturn(Mono.empty());
+        when(productStockChangeBus.publish(any())).thenReturn(Mono.empty());
+        when(topStockIndex.upsertProduct(any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(useCase.updateStock(1L, 20, List.of(3L, 4L)))
+                .expectNext(updatedProduct)
                 .verifyComplete();
+    }
+
+    @Test
+    void updateStock_WhenNoVersionMatches_ShouldFailThePrecondition() {
+        when(productRepository.findById(1L)).thenReturn(Mono.just(product.toBuilder().version(6L).build()));
+
+        StepVerifier.create(useCase.updateStock(1L, 20, List.of(3L, 4L)))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B412001
+                )
+                .verify();
 
-        verify(productRepository).save(argThat(p ->
-                p.getId().equals(product.getId()) &&
-                        p.getName().equals(product.getName()) &&
-                        p.getBranchId().equals(product.getBranchId()) &&
-                        p.getStock().equals(newStock)
-        ));
+        verify(productRepository, never()).updateStock(any(), any(), any());
     }
 }
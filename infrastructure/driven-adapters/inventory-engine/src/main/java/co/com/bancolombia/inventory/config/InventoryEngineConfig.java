@@ -0,0 +1,44 @@
+package co.com.bancolombia.inventory.config;
+
+import co.com.bancolombia.inventory.engine.InMemoryInventoryEngine;
+import co.com.bancolombia.inventory.engine.NoOpTopStockIndex;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class InventoryEngineConfig {
+    private static final String PREFIX = "adapters.inventory-engine";
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true")
+    public InMemoryInventoryEngine inventoryEngine() {
+        return new InMemoryInventoryEngine();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true")
+    public InventoryEngineReconciler inventoryEngineReconciler(InMemoryInventoryEngine inventoryEngine,
+                                                               InventoryEngineProperties properties,
+                                                               BranchRepository branchRepository,
+                                                               ProductRepository productRepository) {
+        return new InventoryEngineReconciler(inventoryEngine, properties.reconcileInterval(),
+                branchRepository, productRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true")
+    public MeterBinder inventoryEngineMetrics(InMemoryInventoryEngine inventoryEngine) {
+        return new InventoryEngineMetrics(inventoryEngine);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "false", matchIfMissing = true)
+    public TopStockIndex disabledTopStockIndex() {
+        return new NoOpTopStockIndex();
+    }
+}
@@ -0,0 +1,31 @@
+package co.com.bancolombia.inventory.config;
+
+import co.com.bancolombia.inventory.engine.InMemoryInventoryEngine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class InventoryEngineMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "inventory.engine.";
+
+    private final InMemoryInventoryEngine engine;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "products", engine, InMemoryInventoryEngine::products)
+                .description("Products held by the in-memory inventory engine.")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "branches", engine, InMemoryInventoryEngine::branches)
+                .description("Branches held by the in-memory inventory engine.")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + "loaded", engine, e -> e.loaded() ? 1 : 0)
+                .description("1 once the first reconciliation loaded the engine and it answers top-stock queries.")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "drift", engine, InMemoryInventoryEngine::drift)
+                .description("Products and branches a reconciliation found out of sync with Postgres and corrected.")
+                .register(registry);
+    }
+}
@@ -0,0 +1,12 @@
+package co.com.bancolombia.inventory.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.inventory-engine")
+public record InventoryEngineProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration reconcileInterval) {
+}
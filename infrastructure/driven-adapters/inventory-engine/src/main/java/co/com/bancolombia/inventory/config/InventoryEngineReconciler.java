@@ -0,0 +1,54 @@
+package co.com.bancolombia.inventory.config;
+
+import co.com.bancolombia.inventory.engine.InMemoryInventoryEngine;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@RequiredArgsConstructor
+public class InventoryEngineReconciler implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+    private final InMemoryInventoryEngine engine;
+    private final Duration reconcileInterval;
+    private final BranchRepository branchRepository;
+    private final ProductRepository productRepository;
+    private Disposable reconciliations;
+
+    // The first pass loads the engine; later passes pick up writes served by other instances and anything a
+    // failed post-commit update left behind.
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        reconciliations = Flux.interval(Duration.ZERO, reconcileInterval)
+                .onBackpressureDrop()
+                .concatMap(_ -> reconcile()
+                        .onErrorResume(error -> {
+                            log.warn("Inventory engine reconciliation failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public Mono<Void> reconcile() {
+        return engine.reconcile(branchRepository.findAll(), productRepository.findAll())
+                .filter(corrected -> corrected > 0)
+                .doOnNext(corrected -> log.warn("Inventory engine drifted from Postgres, corrected {} entries",
+                        corrected))
+                .then();
+    }
+
+    @Override
+    public void destroy() {
+        if (reconciliations != null) {
+            reconciliations.dispose();
+        }
+    }
+}
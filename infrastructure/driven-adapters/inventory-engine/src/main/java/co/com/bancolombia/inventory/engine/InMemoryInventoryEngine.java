@@ -0,0 +1,300 @@
+package co.com.bancolombia.inventory.engine;
+
+import co.com.bancolombia.inventory.helper.BranchTopStock;
+import co.com.bancolombia.inventory.helper.LongIntHashMap;
+import co.com.bancolombia.inventory.helper.LongObjectHashMap;
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Postgres stays the source of truth: the use cases feed committed writes in, and reconcile() rescans the
+// tables to load the engine and to correct whatever it missed, such as writes served by another instance.
+public class InMemoryInventoryEngine implements TopStockIndex {
+    private final LongIntHashMap stocks = new LongIntHashMap();
+    private final LongObjectHashMap<ProductState> products = new LongObjectHashMap<>();
+    private final LongObjectHashMap<BranchState> branches = new LongObjectHashMap<>();
+    private final LongObjectHashMap<FranchiseState> franchises = new LongObjectHashMap<>();
+    private final LongIntHashMap deletedDuringScan = new LongIntHashMap();
+    private long sequence;
+    private long scanEpoch;
+    private boolean scanning;
+    private long scanDrift;
+    private long drift;
+    private volatile boolean loaded;
+
+    @Override
+    public Mono<TopStockProducts> findTopStock(Long franchiseId) {
+        return Mono.fromSupplier(() -> topStock(franchiseId));
+    }
+
+    @Override
+    public Mono<Void> upsertProduct(Product product) {
+        return Mono.fromRunnable(() -> applyProduct(product));
+    }
+
+    @Override
+    public Mono<Void> removeProduct(Product product) {
+        return Mono.fromRunnable(() -> deleteProduct(product.getId()));
+    }
+
+    @Override
+    public Mono<Void> upsertBranch(Branch branch) {
+        return Mono.fromRunnable(() -> applyBranch(branch));
+    }
+
+    public Mono<Long> reconcile(Flux<Branch> branchScan, Flux<Product> productScan) {
+        return Mono.defer(() -> {
+            beginScan();
+            return branchScan.doOnNext(this::reconcileBranch)
+                    .thenMany(productScan.doOnNext(this::reconcileProduct))
+                    .then(Mono.fromSupplier(this::endScan))
+                    .doOnError(_ -> abortScan());
+        });
+    }
+
+    public boolean loaded() {
+        return loaded;
+    }
+
+    public synchronized long products() {
+        return stocks.size();
+    }
+
+    public synchronized long branches() {
+        return branches.size();
+    }
+
+    public synchronized long drift() {
+        return drift;
+    }
+
+    // Until the first scan finishes, and for franchises without branches, the caller falls back to the cache.
+    private synchronized TopStockProducts topStock(Long franchiseId) {
+        FranchiseState franchise = loaded && franchiseId != null ? franchises.get(franchiseId) : null;
+        if (franchise == null) {
+            return null;
+        }
+        if (franchise.answer == null || franchise.answeredVersion != franchise.version) {
+            List<ProductWithBranch> top = new ArrayList<>(franchise.branchCount);
+            for (int i = 0; i < franchise.branchCount; i++) {
+                BranchState branch = branches.get(franchise.branchIds[i]);
+                if (!branch.top.isEmpty()) {
+                    top.add(toProductWithBranch(branch));
+                }
+            }
+            franchise.answer = TopStockProducts.of(List.copyOf(top));
+            franchise.answeredVersion = franchise.version;
+        }
+        return franchise.answer;
+    }
+
+    private ProductWithBranch toProductWithBranch(BranchState branch) {
+        long productId = branch.top.topId();
+        return ProductWithBranch.builder()
+                .product(Product.builder()
+                        .id(productId)
+                        .name(products.get(productId).name)
+                        .stock(branch.top.topStock())
+                        .branchId(branch.id)
+                        .build())
+                .branch(Branch.builder()
+                        .id(branch.id)
+                        .name(branch.name)
+                        .franchiseId(branch.franchiseId)
+                        .build())
+                .build();
+    }
+
+    private synchronized void applyBranch(Branch branch) {
+        if (branch.getId() == null || branch.getFranchiseId() == null) {
+            return;
+        }
+        BranchState state = branches.get(branch.getId());
+        if (state == null) {
+            state = new BranchState(branch.getId(), branch.getFranchiseId());
+            branches.put(state.id, state);
+            FranchiseState franchise = franchises.get(state.franchiseId);
+            if (franchise == null) {
+                franchise = new FranchiseState();
+                franchises.put(state.franchiseId, franchise);
+            }
+            franchise.add(state.id);
+        }
+        if (branch.getName() != null) {
+            state.name = branch.getName();
+        }
+        touch(state);
+    }
+
+    // Null fields keep their indexed value; a write carrying an older version than the indexed one lost the race.
+    private synchronized void applyProduct(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        long id = product.getId();
+        ProductState current = products.get(id);
+        if (current != null && product.getVersion() != null && current.version > product.getVersion()) {
+            return;
+        }
+        BranchState branch = product.getBranchId() != null ? branches.get(product.getBranchId())
+                : current != null ? current.branch : null;
+        if (branch == null || current == null && product.getStock() == null) {
+            return;
+        }
+        int stock = product.getStock() != null ? product.getStock() : stocks.get(id, 0);
+        ProductState state = current != null ? current : new ProductState(id);
+        if (current != null && current.branch != branch) {
+            current.branch.top.remove(id);
+            touch(current.branch);
+        }
+        state.branch = branch;
+        if (product.getName() != null) {
+            state.name = product.getName();
+        }
+        if (product.getVersion() != null) {
+            state.version = product.getVersion();
+        }
+        state.seenEpoch = scanEpoch;
+        products.put(id, state);
+        stocks.put(id, stock);
+        branch.top.put(id, stock);
+        touch(branch);
+    }
+
+    private synchronized void deleteProduct(Long productId) {
+        if (productId == null) {
+            return;
+        }
+        if (scanning) {
+            deletedDuringScan.put(productId, 0);
+        }
+        ProductState removed = products.remove(productId);
+        if (removed != null) {
+            stocks.remove(productId);
+            removed.branch.top.remove(productId);
+            touch(removed.branch);
+        }
+    }
+
+    private void touch(BranchState branch) {
+        franchises.get(branch.franchiseId).version = ++sequence;
+    }
+
+    private synchronized void beginScan() {
+        scanEpoch++;
+        scanning = true;
+        scanDrift = 0;
+        deletedDuringScan.clear();
+    }
+
+    private synchronized void reconcileBranch(Branch branch) {
+        BranchState state = branches.get(branch.getId());
+        if (state == null || !Objects.equals(state.name, branch.getName())) {
+            scanDrift++;
+        }
+        applyBranch(branch);
+    }
+
+    // Rows read before a newer write reached the engine, or deleted since, are skipped instead of resurrected;
+    // rows of branches created after the branch scan wait for the next one.
+    private synchronized void reconcileProduct(Product product) {
+        long id = product.getId();
+        if (deletedDuringScan.containsKey(id)) {
+            return;
+        }
+        ProductState current = products.get(id);
+        boolean branchCreatedDuringScan = branches.get(product.getBranchId()) == null;
+        if (branchCreatedDuringScan
+                || current != null && product.getVersion() != null && current.version > product.getVersion()) {
+            if (current != null) {
+                current.seenEpoch = scanEpoch;
+            }
+            return;
+        }
+        if (current == null || current.branch.id != product.getBranchId()
+                || stocks.get(id, 0) != product.getStock() || !Objects.equals(current.name, product.getName())) {
+            scanDrift++;
+        }
+        applyProduct(product);
+    }
+
+    // Products neither read by this scan nor written while it ran were deleted behind the engine's back.
+    private synchronized long endScan() {
+        LongIntHashMap missing = new LongIntHashMap();
+        products.forEachValue(state -> {
+            if (state.seenEpoch != scanEpoch) {
+                missing.put(state.id, 0);
+            }
+        });
+        missing.forEachKey(this::deleteProduct);
+        scanDrift += missing.size();
+        scanning = false;
+        deletedDuringScan.clear();
+        long corrected = loaded ? scanDrift : 0;
+        drift += corrected;
+        loaded = true;
+        return corrected;
+    }
+
+    private synchronized void abortScan() {
+        scanning = false;
+        deletedDuringScan.clear();
+    }
+
+    private static final class ProductState {
+        private final long id;
+        private BranchState branch;
+        private String name;
+        private long version;
+        private long seenEpoch;
+
+        private ProductState(long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class BranchState {
+        private final long id;
+        private final long franchiseId;
+        private final BranchTopStock top = new BranchTopStock();
+        private String name;
+
+        private BranchState(long id, long franchiseId) {
+            this.id = id;
+            this.franchiseId = franchiseId;
+        }
+    }
+
+    // Branch ids kept sorted, so the answer comes out in the same branch order as the top-stock query, and with it
+    // the same payload digest as a result loaded from the database. The answer is rebuilt only after a change.
+    private static final class FranchiseState {
+        private long[] branchIds = new long[4];
+        private int branchCount;
+        private long version;
+        private long answeredVersion;
+        private TopStockProducts answer;
+
+        private void add(long branchId) {
+            int index = Arrays.binarySearch(branchIds, 0, branchCount, branchId);
+            if (index >= 0) {
+                return;
+            }
+            int insertion = -index - 1;
+            if (branchCount == branchIds.length) {
+                branchIds = Arrays.copyOf(branchIds, branchCount * 2);
+            }
+            System.arraycopy(branchIds, insertion, branchIds, insertion + 1, branchCount - insertion);
+            branchIds[insertion] = branchId;
+            branchCount++;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package co.com.bancolombia.inventory.engine;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.TopStockProducts;
+import co.com.bancolombia.model.product.gateways.TopStockIndex;
+import reactor.core.publisher.Mono;
+
+public class NoOpTopStockIndex implements TopStockIndex {
+
+    @Override
+    public Mono<TopStockProducts> findTopStock(Long franchiseId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> upsertProduct(Product product) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> removeProduct(Product product) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> upsertBranch(Branch branch) {
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,109 @@
+package co.com.bancolombia.inventory.helper;
+
+import java.util.Arrays;
+
+// Indexed binary max-heap of a branch's products: a stock change moves one entry in O(log n), the top is read in O(1).
+public class BranchTopStock {
+    private final LongIntHashMap positions = new LongIntHashMap();
+    private long[] ids = new long[4];
+    private int[] stocks = new int[4];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long topId() {
+        return ids[0];
+    }
+
+    public int topStock() {
+        return stocks[0];
+    }
+
+    public void put(long id, int stock) {
+        int index = positions.get(id, -1);
+        if (index < 0) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                stocks = Arrays.copyOf(stocks, size * 2);
+            }
+            index = size++;
+            ids[index] = id;
+            positions.put(id, index);
+        }
+        stocks[index] = stock;
+        restore(index);
+    }
+
+    public boolean remove(long id) {
+        int index = positions.get(id, -1);
+        if (index < 0) {
+            return false;
+        }
+        positions.remove(id);
+        int last = --size;
+        if (index != last) {
+            ids[index] = ids[last];
+            stocks[index] = stocks[last];
+            positions.put(ids[index], index);
+            restore(index);
+        }
+        return true;
+    }
+
+    private void restore(int index) {
+        if (siftUp(index) == index) {
+            siftDown(index);
+        }
+    }
+
+    private int siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+        return index;
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int best = 2 * index + 1;
+            if (best >= size) {
+                return;
+            }
+            if (best + 1 < size && ranksAbove(best + 1, best)) {
+                best++;
+            }
+            if (!ranksAbove(best, index)) {
+                return;
+            }
+            swap(index, best);
+            index = best;
+        }
+    }
+
+    // Same order as the top-stock query: higher stock first, the lower product id wins a tie.
+    private boolean ranksAbove(int first, int second) {
+        return stocks[first] > stocks[second] || stocks[first] == stocks[second] && ids[first] < ids[second];
+    }
+
+    private void swap(int first, int second) {
+        long id = ids[first];
+        int stock = stocks[first];
+        ids[first] = ids[second];
+        stocks[first] = stocks[second];
+        ids[second] = id;
+        stocks[second] = stock;
+        positions.put(ids[first], first);
+        positions.put(ids[second], second);
+    }
+}
@@ -0,0 +1,172 @@
+package co.com.bancolombia.inventory.engine;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryInventoryEngineTest {
+
+    private InMemoryInventoryEngine engine;
+
+    private final Branch north = Branch.builder().id(1L).name("North").franchiseId(1L).build();
+    private final Branch south = Branch.builder().id(2L).name("South").franchiseId(1L).build();
+    private final Branch empty = Branch.builder().id(3L).name("Empty").franchiseId(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryInventoryEngine();
+    }
+
+    private static Product product(long id, int stock, long branchId, long version) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + id)
+                .stock(stock)
+                .branchId(branchId)
+                .version(version)
+                .build();
+    }
+
+    private Long reconcile(List<Branch> branches, List<Product> products) {
+        return engine.reconcile(Flux.fromIterable(branches), Flux.fromIterable(products)).block();
+    }
+
+    private TopStockProducts topStock() {
+        return engine.findTopStock(1L).block();
+    }
+
+    private static List<Long> productIds(TopStockProducts result) {
+        return result.getProducts().stream()
+                .map(ProductWithBranch::getProduct)
+                .map(Product::getId)
+                .toList();
+    }
+
+    @Test
+    void findTopStock_BeforeTheFirstReconciliation_ShouldBeEmpty() {
+        engine.upsertBranch(north).block();
+        engine.upsertProduct(product(1L, 10, 1L, 0L)).block();
+
+        StepVerifier.create(engine.findTopStock(1L))
+                .verifyComplete();
+        assertFalse(engine.loaded());
+    }
+
+    @Test
+    void findTopStock_ShouldReturnOneProductPerBranchInBranchOrder() {
+        reconcile(List.of(south, north, empty), List.of(
+                product(1L, 10, 1L, 0L),
+                product(2L, 30, 1L, 0L),
+                product(3L, 30, 1L, 0L),
+                product(4L, 5, 2L, 0L)));
+
+        TopStockProducts result = topStock();
+
+        assertEquals(List.of(2L, 4L), productIds(result));
+        assertEquals("North", result.getProducts().getFirst().getBranch().getName());
+        assertEquals(30, result.getProducts().getFirst().getProduct().getStock());
+        StepVerifier.create(engine.findTopStock(99L))
+                .verifyComplete();
+    }
+
+    @Test
+    void upsertProduct_ShouldMoveTheTopAndChangeTheVersion() {
+        reconcile(List.of(north), List.of(product(1L, 10, 1L, 0L), product(2L, 20, 1L, 0L)));
+        String version = topStock().getVersion();
+
+        engine.upsertProduct(Product.builder().id(1L).stock(25).version(1L).build()).block();
+
+        TopStockProducts result = topStock();
+        assertEquals(List.of(1L), productIds(result));
+        assertEquals("Product 1", result.getProducts().getFirst().getProduct().getName());
+        assertNotEquals(version, result.getVersion());
+    }
+
+    @Test
+    void findTopStock_ShouldVersionByPayloadAcrossEngines() {
+        reconcile(List.of(north), List.of(product(1L, 10, 1L, 0L), product(2L, 20, 1L, 0L)));
+        String version = topStock().getVersion();
+
+        engine.upsertProduct(Product.builder().id(1L).stock(5).version(1L).build()).block();
+        InMemoryInventoryEngine other = new InMemoryInventoryEngine();
+        other.reconcile(Flux.just(north), Flux.just(product(2L, 20, 1L, 0L))).block();
+
+        assertEquals(version, topStock().getVersion());
+        assertEquals(version, other.findTopStock(1L).block().getVersion());
+        assertEquals(version, TopStockProducts.of(topStock().getProducts()).getVersion());
+    }
+
+    @Test
+    void upsertProduct_WithAnOlderVersion_ShouldBeIgnored() {
+        reconcile(List.of(north), List.of(product(1L, 10, 1L, 5L), product(2L, 20, 1L, 0L)));
+
+        engine.upsertProduct(product(1L, 50, 1L, 4L)).block();
+
+        assertEquals(List.of(2L), productIds(topStock()));
+    }
+
+    @Test
+    void removeProduct_ShouldPromoteTheNextProductOfTheBranch() {
+        reconcile(List.of(north), List.of(product(1L, 10, 1L, 0L), product(2L, 20, 1L, 0L)));
+
+        engine.removeProduct(product(2L, 20, 1L, 0L)).block();
+
+        assertEquals(List.of(1L), productIds(topStock()));
+        assertEquals(1, engine.products());
+    }
+
+    @Test
+    void reconcile_ShouldCorrectAndCountDrift() {
+        assertEquals(0L, reconcile(List.of(north), List.of(product(1L, 10, 1L, 0L), product(2L, 20, 1L, 0L))));
+
+        Long corrected = reconcile(List.of(north, south), List.of(
+                product(1L, 40, 1L, 1L),
+                product(3L, 5, 2L, 0L)));
+
+        assertEquals(4L, corrected);
+        assertEquals(4L, engine.drift());
+        assertEquals(List.of(1L, 3L), productIds(topStock()));
+        assertEquals(2, engine.products());
+    }
+
+    @Test
+    void reconcile_ShouldNotUndoWritesMadeWhileScanning() {
+        reconcile(List.of(north), List.of(product(1L, 10, 1L, 0L), product(2L, 20, 1L, 0L)));
+
+        Flux<Product> staleScan = Flux.defer(() -> {
+            engine.upsertProduct(product(1L, 30, 1L, 1L)).block();
+            engine.removeProduct(product(2L, 20, 1L, 0L)).block();
+            return Flux.just(product(1L, 10, 1L, 0L), product(2L, 20, 1L, 0L));
+        });
+        engine.reconcile(Flux.just(north), staleScan).block();
+
+        TopStockProducts result = topStock();
+        assertEquals(List.of(1L), productIds(result));
+        assertEquals(30, result.getProducts().getFirst().getProduct().getStock());
+        assertEquals(0L, engine.drift());
+    }
+
+    @Test
+    void reconcile_WhenTheScanFails_ShouldKeepServingTheLastState() {
+        reconcile(List.of(north), List.of(product(1L, 10, 1L, 0L)));
+
+        StepVerifier.create(engine.reconcile(Flux.just(north), Flux.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertTrue(engine.loaded());
+        assertEquals(List.of(1L), productIds(topStock()));
+    }
+}
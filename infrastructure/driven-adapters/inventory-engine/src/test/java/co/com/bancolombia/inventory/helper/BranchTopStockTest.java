@@ -0,0 +1,70 @@
+package co.com.bancolombia.inventory.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BranchTopStockTest {
+
+    @Test
+    void top_ShouldPreferHigherStockThenLowerId() {
+        BranchTopStock top = new BranchTopStock();
+        top.put(3L, 10);
+        top.put(2L, 10);
+        top.put(1L, 5);
+
+        assertEquals(2L, top.topId());
+        assertEquals(10, top.topStock());
+
+        top.put(1L, 11);
+        assertEquals(1L, top.topId());
+
+        top.put(1L, 0);
+        assertEquals(2L, top.topId());
+    }
+
+    @Test
+    void remove_ShouldPromoteTheNextProduct() {
+        BranchTopStock top = new BranchTopStock();
+        top.put(1L, 20);
+        top.put(2L, 15);
+
+        assertTrue(top.remove(1L));
+        assertFalse(top.remove(1L));
+        assertEquals(2L, top.topId());
+
+        assertTrue(top.remove(2L));
+        assertTrue(top.isEmpty());
+    }
+
+    @Test
+    void top_ShouldMatchASortedReferenceUnderRandomChanges() {
+        BranchTopStock top = new BranchTopStock();
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            long id = 1 + random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                assertEquals(reference.remove(id) != null, top.remove(id));
+            } else {
+                int stock = random.nextInt(50);
+                reference.put(id, stock);
+                top.put(id, stock);
+            }
+            assertEquals(reference.size(), top.size());
+            if (!reference.isEmpty()) {
+                long expected = reference.entrySet().stream()
+                        .reduce((best, next) -> next.getValue() > best.getValue() ? next : best)
+                        .orElseThrow()
+                        .getKey();
+                assertEquals(expected, top.topId());
+            }
+        }
+    }
+}
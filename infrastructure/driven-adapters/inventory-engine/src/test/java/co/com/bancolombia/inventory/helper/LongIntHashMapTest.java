@@ -0,0 +1,61 @@
+package co.com.bancolombia.inventory.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    @Test
+    void put_ShouldOverwriteAndGrow() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long id = 1; id <= 1_000; id++) {
+            map.put(id, (int) id);
+        }
+        map.put(7L, 70);
+
+        assertEquals(1_000, map.size());
+        assertEquals(70, map.get(7L, -1));
+        assertEquals(-1, map.get(1_001L, -1));
+    }
+
+    @Test
+    void zeroKey_ShouldBeStoredAside() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(0L, 5);
+
+        assertTrue(map.containsKey(0L));
+        assertEquals(5, map.get(0L, -1));
+        assertTrue(map.remove(0L));
+        assertFalse(map.containsKey(0L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void remove_ShouldKeepTheOtherKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long key = 1 + random.nextInt(500);
+            if (random.nextBoolean()) {
+                assertEquals(reference.remove(key) != null, map.remove(key));
+            } else {
+                reference.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (long key = 1; key <= 500; key++) {
+            assertEquals(reference.getOrDefault(key, -1), map.get(key, -1));
+        }
+    }
+}
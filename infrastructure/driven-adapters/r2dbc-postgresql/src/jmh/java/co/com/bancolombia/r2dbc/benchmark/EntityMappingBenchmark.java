@@ -0,0 +1,54 @@
+package co.com.bancolombia.r2dbc.benchmark;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.r2dbc.entity.ProductEntity;
+import co.com.bancolombia.r2dbc.mapper.ProductEntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.reactivecommons.utils.ObjectMapper;
+import org.reactivecommons.utils.ObjectMapperImp;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflection-based ObjectMapperImp against the hand-written mappers for one product row in each
+ * direction. Runs with {@code ./gradlew :r2dbc-postgresql:jmh}; add the {@code gc} profiler to the
+ * jmh block to compare allocation rates as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityMappingBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapperImp();
+    private final ProductEntity entity = ProductEntity.builder()
+            .id(1L)
+            .name("Product")
+            .stock(10)
+            .branchId(1L)
+            .build();
+    private final Product product = ProductEntityMapper.toDomain(entity);
+
+    @Benchmark
+    public Product toDomainWithObjectMapper() {
+        return objectMapper.mapBuilder(entity, Product.ProductBuilder.class).build();
+    }
+
+    @Benchmark
+    public Product toDomainWithEntityMapper() {
+        return ProductEntityMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public ProductEntity toEntityWithObjectMapper() {
+        return objectMapper.map(product, ProductEntity.class);
+    }
+
+    @Benchmark
+    public ProductEntity toEntityWithEntityMapper() {
+        return ProductEntityMapper.toEntity(product);
+    }
+}
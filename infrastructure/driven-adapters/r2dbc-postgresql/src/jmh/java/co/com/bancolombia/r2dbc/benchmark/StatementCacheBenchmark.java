@@ -0,0 +1,127 @@
+package co.com.bancolombia.r2dbc.benchmark;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
+import co.com.bancolombia.r2dbc.mapper.ProductEntityMapper;
+import co.com.bancolombia.r2dbc.repository.ProductReactiveRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
+
+/**
+ * p50/p99 latency of the repository queries with the driver statement cache disabled (0)
+ * and enabled. Needs a reachable PostgreSQL; the dataset lives in its own schema:
+ * <pre>
+ * BENCHMARK_DB_HOST=localhost BENCHMARK_DB_PASSWORD=postgres ./gradlew :r2dbc-postgresql:jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementCacheBenchmark {
+    private static final String SCHEMA = "statement_cache_benchmark";
+    private static final int FRANCHISES = 20;
+    private static final int BRANCHES_PER_FRANCHISE = 100;
+    private static final int PRODUCTS_PER_BRANCH = 50;
+
+    @Param({"0", "256"})
+    private int preparedStatementCacheQueries;
+
+    private ConnectionPool connectionPool;
+    private RowReaderQueries rowQueries;
+    private long maxProductId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder()
+                .connectionFactory(new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                        .host(env("BENCHMARK_DB_HOST", "localhost"))
+                        .port(Integer.parseInt(env("BENCHMARK_DB_PORT", "5432")))
+                        .database(env("BENCHMARK_DB_NAME", "postgres"))
+                        .username(env("BENCHMARK_DB_USERNAME", "postgres"))
+                        .password(env("BENCHMARK_DB_PASSWORD", "postgres"))
+                        .schema(SCHEMA)
+                        .preparedStatementCacheQueries(preparedStatementCacheQueries)
+                        .build()))
+                .initialSize(4)
+                .maxSize(4)
+                .build());
+
+        DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+        seed(databaseClient);
+
+        rowQueries = new RowReaderQueries(databaseClient);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionPool.dispose();
+    }
+
+    @Benchmark
+    public Product findById() {
+        return rowQueries.one(ProductReactiveRepository.FIND_BY_ID, ProductEntityMapper::fromRow,
+                        param("id", ThreadLocalRandom.current().nextLong(1, maxProductId + 1), Long.class))
+                .block();
+    }
+
+    @Benchmark
+    public List<ProductWithBranch> findTopStockProductsWithBranchByFranchise() {
+        return rowQueries.all(ProductReactiveRepository.FIND_TOP_STOCK_PRODUCTS_WITH_BRANCH_BY_FRANCHISE,
+                        ProductEntityMapper::topStockFromRow,
+                        param("franchiseId", ThreadLocalRandom.current().nextLong(1, FRANCHISES + 1), Long.class))
+                .collectList()
+                .block();
+    }
+
+    private void seed(DatabaseClient client) {
+        List.of(
+                "CREATE SCHEMA IF NOT EXISTS " + SCHEMA,
+                "DROP TABLE IF EXISTS products, branches, franchises",
+                "CREATE TABLE franchises (id BIGSERIAL PRIMARY KEY, name VARCHAR(255) NOT NULL)",
+                "CREATE TABLE branches (id BIGSERIAL PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+                        "franchise_id BIGINT NOT NULL REFERENCES franchises (id))",
+                "CREATE TABLE products (id BIGSERIAL PRIMARY KEY, name VARCHAR(255) NOT NULL, " +
+                        "stock INTEGER NOT NULL, branch_id BIGINT NOT NULL REFERENCES branches (id), " +
+                        "version BIGINT NOT NULL DEFAULT 0)",
+                "INSERT INTO franchises (name) SELECT 'Franchise ' || f FROM generate_series(1, " + FRANCHISES + ") AS f",
+                "INSERT INTO branches (name, franchise_id) SELECT 'Branch ' || f.id || '-' || b, f.id " +
+                        "FROM franchises f, generate_series(1, " + BRANCHES_PER_FRANCHISE + ") AS b",
+                "INSERT INTO products (name, stock, branch_id) " +
+                        "SELECT 'Product ' || b.id || '-' || p, (random() * 1000)::INTEGER, b.id " +
+                        "FROM branches b, generate_series(1, " + PRODUCTS_PER_BRANCH + ") AS p",
+                "CREATE INDEX idx_products_branch_stock_id ON products (branch_id, stock DESC, id)",
+                "CREATE INDEX idx_branches_franchise_id ON branches (franchise_id)",
+                "ANALYZE"
+        ).forEach(sql -> client.sql(sql).then().block());
+
+        maxProductId = client.sql("SELECT MAX(id) AS max_id FROM products")
+                .map(row -> row.get("max_id", Long.class))
+                .one()
+                .block();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
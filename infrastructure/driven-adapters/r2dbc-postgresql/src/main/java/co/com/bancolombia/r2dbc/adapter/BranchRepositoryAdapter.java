@@ -2,11 +2,23 @@ package co.com.bancolombia.r2dbc.adapter;
 
 import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.r2dbc.entity.BranchEntity;
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilter;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.helper.IntegrityViolations;
 import co.com.bancolombia.r2dbc.helper.ReactiveAdapterOperations;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
+import co.com.bancolombia.r2dbc.mapper.BranchEntityMapper;
 import co.com.bancolombia.r2dbc.repository.BranchReactiveRepository;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
 
 @Repository
 public class BranchRepositoryAdapter extends ReactiveAdapterOperations<
@@ -15,8 +27,45 @@ public class BranchRepositoryAdapter extends ReactiveAdapterOperations<
         Long,
         BranchReactiveRepository
 > implements BranchRepository {
-    public BranchRepositoryAdapter(BranchReactiveRepository repository, ObjectMapper mapper) {
-        super(repository, mapper, d -> mapper.mapBuilder(d, Branch.BranchBuilder.class).build());
+    private final RowReaderQueries rowQueries;
+    private final IdExistenceFilter franchiseIds;
+    private final IdExistenceFilter branchIds;
+
+    public BranchRepositoryAdapter(BranchReactiveRepository repository, ObjectMapper mapper,
+                                   RowReaderQueries rowQueries, IdExistenceFilters idFilters) {
+        super(repository, mapper, BranchEntityMapper::toDomain, BranchEntityMapper::toEntity);
+        this.rowQueries = rowQueries;
+        this.franchiseIds = idFilters.franchises();
+        this.branchIds = idFilters.branches();
+    }
+
+    @Override
+    public Mono<Branch> save(Branch branch) {
+        return franchiseIds.guard(branch.getFranchiseId(), () -> Mono.just(branch))
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
+                .flatMap(super::save)
+                .doOnNext(saved -> branchIds.recordInsert(saved.getId()))
+                .onErrorMap(IntegrityViolations::isForeignKeyViolation,
+                        _ -> new BusinessException(ErrorCode.B404001));
+    }
+
+    @Override
+    public Mono<Branch> findById(Long id) {
+        return branchIds.lookup(id, () -> ConnectionRouting.readOnly(rowQueries.one(
+                BranchReactiveRepository.FIND_BY_ID, BranchEntityMapper::fromRow, param("id", id, Long.class))));
+    }
+
+    @Override
+    public Mono<Branch> updateName(Long id, String name) {
+        return branchIds.lookup(id, () -> rowQueries.one(BranchReactiveRepository.UPDATE_NAME,
+                BranchEntityMapper::fromRow, param("id", id, Long.class), param("name", name, String.class)));
+    }
+
+    @Override
+    public Flux<Branch> findByFranchiseIdAfter(Long franchiseId, Long afterId, int limit) {
+        return ConnectionRouting.readOnly(rowQueries.all(BranchReactiveRepository.FIND_BY_FRANCHISE_ID_AFTER,
+                BranchEntityMapper::fromRow, param("franchiseId", franchiseId, Long.class),
+                param("afterId", afterId, Long.class), param("limit", limit, Integer.class)));
     }
 
 }
@@ -3,10 +3,18 @@ package co.com.bancolombia.r2dbc.adapter;
 import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
 import co.com.bancolombia.r2dbc.entity.FranchiseEntity;
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilter;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
 import co.com.bancolombia.r2dbc.helper.ReactiveAdapterOperations;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
+import co.com.bancolombia.r2dbc.mapper.FranchiseEntityMapper;
 import co.com.bancolombia.r2dbc.repository.FranchiseReactiveRepository;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
 
 @Repository
 public class FranchiseRepositoryAdapter extends ReactiveAdapterOperations<
@@ -16,7 +24,31 @@ public class FranchiseRepositoryAdapter extends ReactiveAdapterOperations<
         FranchiseReactiveRepository
         > implements FranchiseRepository {
 
-    public FranchiseRepositoryAdapter(FranchiseReactiveRepository repository, ObjectMapper mapper) {
-        super(repository, mapper, d -> mapper.mapBuilder(d, Franchise.FranchiseBuilder.class).build());
+    private final RowReaderQueries rowQueries;
+    private final IdExistenceFilter franchiseIds;
+
+    public FranchiseRepositoryAdapter(FranchiseReactiveRepository repository, ObjectMapper mapper,
+                                      RowReaderQueries rowQueries, IdExistenceFilters idFilters) {
+        super(repository, mapper, FranchiseEntityMapper::toDomain, FranchiseEntityMapper::toEntity);
+        this.rowQueries = rowQueries;
+        this.franchiseIds = idFilters.franchises();
+    }
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return super.save(franchise)
+                .doOnNext(saved -> franchiseIds.recordInsert(saved.getId()));
+    }
+
+    @Override
+    public Mono<Franchise> findById(Long id) {
+        return franchiseIds.lookup(id, () -> ConnectionRouting.readOnly(rowQueries.one(
+                FranchiseReactiveRepository.FIND_BY_ID, FranchiseEntityMapper::fromRow, param("id", id, Long.class))));
+    }
+
+    @Override
+    public Mono<Franchise> updateName(Long id, String name) {
+        return franchiseIds.lookup(id, () -> rowQueries.one(FranchiseReactiveRepository.UPDATE_NAME,
+                FranchiseEntityMapper::fromRow, param("id", id, Long.class), param("name", name, String.class)));
     }
 }
@@ -1,15 +1,34 @@
 package co.com.bancolombia.r2dbc.adapter;
 
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.ProductWithBranch;
 import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.r2dbc.config.BulkOperationsProperties;
 import co.com.bancolombia.r2dbc.entity.ProductEntity;
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilter;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.helper.IntegrityViolations;
 import co.com.bancolombia.r2dbc.helper.ReactiveAdapterOperations;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
+import co.com.bancolombia.r2dbc.mapper.ProductEntityMapper;
 import co.com.bancolombia.r2dbc.repository.ProductReactiveRepository;
 import org.reactivecommons.utils.ObjectMapper;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
+
 @Repository
 public class ProductRepositoryAdapter extends ReactiveAdapterOperations<
         Product,
@@ -17,18 +36,129 @@ public class ProductRepositoryAdapter extends ReactiveAdapterOperations<
         Long,
         ProductReactiveRepository
 > implements ProductRepository {
-    public ProductRepositoryAdapter(ProductReactiveRepository repository, ObjectMapper mapper) {
-        super(repository, mapper, d -> mapper.mapBuilder(d, Product.ProductBuilder.class).build());
+    private final BulkOperationsProperties bulkProperties;
+    private final TransactionalOperator transactionalOperator;
+    private final RowReaderQueries rowQueries;
+    private final IdExistenceFilter franchiseIds;
+    private final IdExistenceFilter branchIds;
+    private final IdExistenceFilter productIds;
+
+    public ProductRepositoryAdapter(ProductReactiveRepository repository, ObjectMapper mapper,
+                                    BulkOperationsProperties bulkProperties,
+                                    TransactionalOperator transactionalOperator, RowReaderQueries rowQueries,
+                                    IdExistenceFilters idFilters) {
+        super(repository, mapper, ProductEntityMapper::toDomain, ProductEntityMapper::toEntity);
+        this.bulkProperties = bulkProperties;
+        this.transactionalOperator = transactionalOperator;
+        this.rowQueries = rowQueries;
+        this.franchiseIds = idFilters.franchises();
+        this.branchIds = idFilters.branches();
+        this.productIds = idFilters.products();
+    }
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return branchIds.guard(product.getBranchId(), () -> Mono.just(product))
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404002)))
+                .flatMap(super::save)
+                .doOnNext(saved -> productIds.recordInsert(saved.getId()))
+                .onErrorMap(IntegrityViolations::isForeignKeyViolation,
+                        _ -> new BusinessException(ErrorCode.B404002));
     }
 
     @Override
-    public Mono<Void> deleteById(Long id) {
-        return repository.deleteById(id);
+    public Mono<Product> findById(Long id) {
+        return productIds.lookup(id, () -> ConnectionRouting.readOnly(rowQueries.one(
+                ProductReactiveRepository.FIND_BY_ID, ProductEntityMapper::fromRow, param("id", id, Long.class))));
     }
 
     @Override
-    public Flux<Product> findTopStockByBranchesInFranchise(Long franchiseId) {
-        return repository.findTopStockProductsByFranchise(franchiseId)
+    public Mono<Product> deleteById(Long id) {
+        return productIds.lookup(id, () -> rowQueries.one(ProductReactiveRepository.DELETE_RETURNING_BY_ID,
+                        ProductEntityMapper::fromRow, param("id", id, Long.class)))
+                .doOnNext(deleted -> productIds.recordMiss(id));
+    }
+
+    @Override
+    public Mono<Product> updateName(Long id, String name) {
+        return productIds.lookup(id, () -> rowQueries.one(ProductReactiveRepository.UPDATE_NAME,
+                ProductEntityMapper::fromRow, param("id", id, Long.class), param("name", name, String.class)));
+    }
+
+    @Override
+    public Mono<Product> updateStock(Long id, Integer stock) {
+        return productIds.lookup(id, () -> rowQueries.one(ProductReactiveRepository.UPDATE_STOCK,
+                ProductEntityMapper::fromRow, param("id", id, Long.class), param("stock", stock, Integer.class)));
+    }
+
+    @Override
+    public Mono<Product> updateStock(Long id, Integer stock, Long expectedVersion) {
+        return productIds.guard(id, () -> rowQueries.one(ProductReactiveRepository.UPDATE_STOCK_IF_VERSION,
+                ProductEntityMapper::fromRow, param("id", id, Long.class), param("stock", stock, Integer.class),
+                param("version", expectedVersion, Long.class)));
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long id, Integer delta, boolean allowNegative) {
+        return productIds.guard(id, () -> rowQueries.one(ProductReactiveRepository.ADJUST_STOCK,
+                ProductEntityMapper::fromRow, param("id", id, Long.class), param("delta", delta, Integer.class),
+                param("allowNegative", allowNegative, Boolean.class)));
+    }
+
+    @Override
+    public Flux<Product> updateStocks(Flux<ProductStockUpdate> updates) {
+        return updates.buffer(bulkProperties.chunkSize())
+                .concatMap(this::updateStockChunk);
+    }
+
+    // A chunk is fully read before its transaction opens, so a slow upload holds no connection; its rows are
+    // emitted once it committed, so callers never index or announce rows that could still roll back.
+    @Override
+    public Flux<Product> insertAll(Flux<Product> products) {
+        return products.buffer(bulkProperties.chunkSize())
+                .concatMap(chunk -> insertChunk(chunk).collectList()
+                        .as(transactionalOperator::transactional)
+                        .flatMapIterable(Function.identity()))
+                .doOnNext(inserted -> productIds.recordInsert(inserted.getId()));
+    }
+
+    @Override
+    public Flux<ProductWithBranch> findTopStockWithBranchByFranchise(Long franchiseId) {
+        return franchiseIds.guard(franchiseId, () -> Mono.just(franchiseId))
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
+                .flatMapMany(this::queryTopStockWithBranch);
+    }
+
+    @Override
+    public Flux<Product> findByBranchIdAfter(Long branchId, Long afterId, int limit) {
+        return ConnectionRouting.readOnly(rowQueries.all(ProductReactiveRepository.FIND_BY_BRANCH_ID_AFTER,
+                ProductEntityMapper::fromRow, param("branchId", branchId, Long.class),
+                param("afterId", afterId, Long.class), param("limit", limit, Integer.class)));
+    }
+
+    private Flux<ProductWithBranch> queryTopStockWithBranch(Long franchiseId) {
+        // An existing franchise without products comes back as a single row with null product columns.
+        return ConnectionRouting.readOnly(rowQueries.all(
+                        ProductReactiveRepository.FIND_TOP_STOCK_PRODUCTS_WITH_BRANCH_BY_FRANCHISE,
+                        ProductEntityMapper::topStockFromRow, param("franchiseId", franchiseId, Long.class)))
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.B404001)))
+                .filter(productWithBranch -> productWithBranch.getProduct().getId() != null);
+    }
+
+    private Flux<Product> updateStockChunk(List<ProductStockUpdate> chunk) {
+        // Last value wins when a chunk repeats an id; UPDATE ... FROM would otherwise pick one arbitrarily.
+        Map<Long, Integer> stockById = new LinkedHashMap<>();
+        chunk.forEach(update -> stockById.put(update.getProductId(), update.getStock()));
+        return repository.updateStocks(stockById.keySet().toArray(Long[]::new),
+                        stockById.values().toArray(Integer[]::new))
+                .map(this::toEntity);
+    }
+
+    private Flux<Product> insertChunk(List<Product> chunk) {
+        return repository.insertAll(
+                        chunk.stream().map(Product::getName).toArray(String[]::new),
+                        chunk.stream().map(Product::getStock).toArray(Integer[]::new),
+                        chunk.stream().map(Product::getBranchId).toArray(Long[]::new))
                 .map(this::toEntity);
     }
 }
@@ -0,0 +1,39 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CachedBranchRepository implements BranchRepository {
+    private final BranchRepository delegate;
+    private final ReactiveLookupCache<Branch> cache;
+
+    @Override
+    public Mono<Branch> save(Branch branch) {
+        return delegate.save(branch)
+                .doOnNext(saved -> cache.put(saved.getId(), saved));
+    }
+
+    @Override
+    public Mono<Branch> findById(Long id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public Mono<Branch> updateName(Long id, String name) {
+        return cache.writeThrough(id, delegate.updateName(id, name));
+    }
+
+    @Override
+    public Flux<Branch> findByFranchiseIdAfter(Long franchiseId, Long afterId, int limit) {
+        return delegate.findByFranchiseIdAfter(franchiseId, afterId, limit);
+    }
+
+    @Override
+    public Flux<Branch> findAll() {
+        return delegate.findAll();
+    }
+}
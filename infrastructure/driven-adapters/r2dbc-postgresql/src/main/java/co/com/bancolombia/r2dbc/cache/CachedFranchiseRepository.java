@@ -0,0 +1,28 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CachedFranchiseRepository implements FranchiseRepository {
+    private final FranchiseRepository delegate;
+    private final ReactiveLookupCache<Franchise> cache;
+
+    @Override
+    public Mono<Franchise> save(Franchise franchise) {
+        return delegate.save(franchise)
+                .doOnNext(saved -> cache.put(saved.getId(), saved));
+    }
+
+    @Override
+    public Mono<Franchise> findById(Long id) {
+        return cache.get(id, delegate::findById);
+    }
+
+    @Override
+    public Mono<Franchise> updateName(Long id, String name) {
+        return cache.writeThrough(id, delegate.updateName(id, name));
+    }
+}
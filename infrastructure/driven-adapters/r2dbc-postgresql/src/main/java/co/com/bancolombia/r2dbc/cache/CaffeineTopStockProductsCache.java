@@ -0,0 +1,45 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class CaffeineTopStockProductsCache implements TopStockProductsCache {
+    private final ReactiveLookupCache<TopStockProducts> cache;
+    private final BranchRepository branchRepository;
+
+    // An eviction that races a load drops the in-flight result as well, it is never stored afterwards.
+    @Override
+    public Mono<TopStockProducts> getOrLoad(Long franchiseId, Flux<ProductWithBranch> loader) {
+        return cache.get(franchiseId, _ -> loader.collectList()
+                .map(TopStockProducts::of));
+    }
+
+    @Override
+    public Mono<TopStockProducts> getIfPresent(Long franchiseId) {
+        return cache.getIfPresent(franchiseId);
+    }
+
+    @Override
+    public Mono<String> currentVersion(Long franchiseId) {
+        return cache.getIfPresent(franchiseId)
+                .map(TopStockProducts::getVersion);
+    }
+
+    @Override
+    public Mono<Void> evictByBranch(Long branchId) {
+        return branchRepository.findById(branchId)
+                .doOnNext(branch -> cache.invalidate(branch.getFranchiseId()))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> evictAll() {
+        return Mono.fromRunnable(cache::invalidateAll);
+    }
+}
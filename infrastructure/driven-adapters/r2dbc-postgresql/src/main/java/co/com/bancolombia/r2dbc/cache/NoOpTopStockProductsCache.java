@@ -0,0 +1,37 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Without a cache there is no version to validate against, so responses carry no ETag.
+public class NoOpTopStockProductsCache implements TopStockProductsCache {
+
+    @Override
+    public Mono<TopStockProducts> getOrLoad(Long franchiseId, Flux<ProductWithBranch> loader) {
+        return loader.collectList()
+                .map(products -> TopStockProducts.builder().products(products).build());
+    }
+
+    @Override
+    public Mono<TopStockProducts> getIfPresent(Long franchiseId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<String> currentVersion(Long franchiseId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> evictByBranch(Long branchId) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> evictAll() {
+        return Mono.empty();
+    }
+}
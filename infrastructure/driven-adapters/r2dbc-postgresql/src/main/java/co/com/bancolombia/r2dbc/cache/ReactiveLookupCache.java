@@ -0,0 +1,69 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+public class ReactiveLookupCache<T> {
+    private final AsyncCache<Long, T> cache;
+    private final UnaryOperator<T> copy;
+
+    public ReactiveLookupCache(long maximumSize, Duration expireAfterWrite, UnaryOperator<T> copy) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        this.copy = copy;
+    }
+
+    // Concurrent misses for the same id share one load; an empty result is not cached.
+    // Domain objects are mutable, so callers always get their own copy.
+    public Mono<T> get(Long id, Function<Long, Mono<T>> loader) {
+        return Mono.deferContextual(context -> Mono.fromFuture(
+                        cache.get(id, (key, _) -> loader.apply(key).contextWrite(context).toFuture()), true))
+                .map(copy);
+    }
+
+    // Never triggers a load; a miss or a load still in flight comes back empty.
+    public Mono<T> getIfPresent(Long id) {
+        return Mono.justOrEmpty(cache.getIfPresent(id))
+                .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+                .mapNotNull(CompletableFuture::join)
+                .map(copy);
+    }
+
+    // The write result replaces the entry; an empty or failed write drops it so the next read reloads.
+    public Mono<T> writeThrough(Long id, Mono<T> write) {
+        return write
+                .doOnNext(value -> put(id, value))
+                .doOnSuccess(value -> {
+                    if (value == null) {
+                        invalidate(id);
+                    }
+                })
+                .doOnError(_ -> invalidate(id));
+    }
+
+    public void put(Long id, T value) {
+        cache.put(id, CompletableFuture.completedFuture(copy.apply(value)));
+    }
+
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public Cache<Long, T> synchronous() {
+        return cache.synchronous();
+    }
+}
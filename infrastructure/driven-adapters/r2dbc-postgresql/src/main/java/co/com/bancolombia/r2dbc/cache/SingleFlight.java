@@ -0,0 +1,78 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, Flux<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maxInFlight;
+    private final LongAdder led = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    public SingleFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    // Subscribers arriving while a load for the same key runs replay that load instead of starting their own.
+    // The key is released as soon as the load terminates, so nothing outlives it; once maxInFlight keys are
+    // running, further keys run uncoalesced rather than growing the map.
+    public Flux<V> execute(K key, Function<K, Flux<V>> loader) {
+        return Flux.defer(() -> {
+            Flux<V> running = inFlight.get(key);
+            if (running != null) {
+                coalesced.increment();
+                return running;
+            }
+            if (inFlight.size() >= maxInFlight) {
+                bypassed.increment();
+                return loader.apply(key);
+            }
+            AtomicReference<Flux<V>> self = new AtomicReference<>();
+            // Released before the terminal signal reaches anyone, so a caller reacting to it starts a fresh load.
+            Runnable release = () -> inFlight.remove(key, self.get());
+            Flux<V> shared = Flux.defer(() -> loader.apply(key))
+                    .doOnTerminate(release)
+                    .doOnCancel(release)
+                    .replay()
+                    .refCount();
+            self.set(shared);
+            running = inFlight.putIfAbsent(key, shared);
+            if (running != null) {
+                coalesced.increment();
+                return running;
+            }
+            led.increment();
+            return shared;
+        });
+    }
+
+    // Runs the load on its own, for callers whose context must not be swapped for the one leading a shared load.
+    public Flux<V> bypass(K key, Function<K, Flux<V>> loader) {
+        return Flux.defer(() -> {
+            bypassed.increment();
+            return loader.apply(key);
+        });
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public long led() {
+        return led.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long bypassed() {
+        return bypassed.sum();
+    }
+}
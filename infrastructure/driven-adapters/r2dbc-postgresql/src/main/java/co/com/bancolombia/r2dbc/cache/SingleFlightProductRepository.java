@@ -0,0 +1,80 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class SingleFlightProductRepository implements ProductRepository {
+    private final ProductRepository delegate;
+    private final SingleFlight<Long, ProductWithBranch> topStockWithBranchFlights;
+
+    @Override
+    public Mono<Product> save(Product product) {
+        return delegate.save(product);
+    }
+
+    @Override
+    public Mono<Product> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Mono<Product> deleteById(Long id) {
+        return delegate.deleteById(id);
+    }
+
+    @Override
+    public Mono<Product> updateName(Long id, String name) {
+        return delegate.updateName(id, name);
+    }
+
+    @Override
+    public Mono<Product> updateStock(Long id, Integer stock) {
+        return delegate.updateStock(id, stock);
+    }
+
+    @Override
+    public Mono<Product> updateStock(Long id, Integer stock, Long expectedVersion) {
+        return delegate.updateStock(id, stock, expectedVersion);
+    }
+
+    @Override
+    public Mono<Product> adjustStock(Long id, Integer delta, boolean allowNegative) {
+        return delegate.adjustStock(id, delta, allowNegative);
+    }
+
+    @Override
+    public Flux<Product> updateStocks(Flux<ProductStockUpdate> updates) {
+        return delegate.updateStocks(updates);
+    }
+
+    @Override
+    public Flux<Product> insertAll(Flux<Product> products) {
+        return delegate.insertAll(products);
+    }
+
+    // A shared load runs with its leader's context, so a caller that must read its own writes from the primary
+    // never joins one that may be reading the replica.
+    @Override
+    public Flux<ProductWithBranch> findTopStockWithBranchByFranchise(Long franchiseId) {
+        return Flux.deferContextual(context -> ConnectionRouting.pinnedToPrimary(context)
+                ? topStockWithBranchFlights.bypass(franchiseId, delegate::findTopStockWithBranchByFranchise)
+                : topStockWithBranchFlights.execute(franchiseId, delegate::findTopStockWithBranchByFranchise));
+    }
+
+    @Override
+    public Flux<Product> findByBranchIdAfter(Long branchId, Long afterId, int limit) {
+        return delegate.findByBranchIdAfter(branchId, afterId, limit);
+    }
+
+    @Override
+    public Flux<Product> findAll() {
+        return delegate.findAll();
+    }
+}
@@ -0,0 +1,14 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.bulk")
+public record BulkOperationsProperties(Integer chunkSize) {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    public BulkOperationsProperties {
+        if (chunkSize == null || chunkSize <= 0) {
+            chunkSize = DEFAULT_CHUNK_SIZE;
+        }
+    }
+}
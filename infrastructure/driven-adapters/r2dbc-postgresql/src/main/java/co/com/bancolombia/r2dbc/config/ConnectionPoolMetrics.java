@@ -0,0 +1,48 @@
+package co.com.bancolombia.r2dbc.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "r2dbc.pool.";
+
+    private final Map<String, ConnectionPool> connectionPools;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        connectionPools.forEach((name, pool) -> pool.getMetrics().ifPresent(metrics -> {
+            Tags tags = Tags.of("name", name);
+            register(registry, metrics, tags, "acquired", PoolMetrics::acquiredSize,
+                    "Size of successfully acquired connections which are in active use.");
+            register(registry, metrics, tags, "allocated", PoolMetrics::allocatedSize,
+                    "Size of allocated connections in the pool which are in active use or idle.");
+            register(registry, metrics, tags, "idle", PoolMetrics::idleSize,
+                    "Size of idle connections in the pool.");
+            register(registry, metrics, tags, "pending", PoolMetrics::pendingAcquireSize,
+                    "Size of pending to acquire connections from the underlying connection factory.");
+            register(registry, metrics, tags, "max.allocated", PoolMetrics::getMaxAllocatedSize,
+                    "Maximum size of allocated connections that this pool allows.");
+            register(registry, metrics, tags, "max.pending", PoolMetrics::getMaxPendingAcquireSize,
+                    "Maximum size of pending state to acquire connections that this pool allows.");
+        }));
+    }
+
+    private void register(MeterRegistry registry, PoolMetrics metrics, Tags tags, String name,
+                          ToDoubleFunction<PoolMetrics> value, String description) {
+        Gauge.builder(METRIC_PREFIX + name, metrics, value)
+                .tags(tags)
+                .description(description)
+                .baseUnit(BaseUnits.CONNECTIONS)
+                .register(registry);
+    }
+}
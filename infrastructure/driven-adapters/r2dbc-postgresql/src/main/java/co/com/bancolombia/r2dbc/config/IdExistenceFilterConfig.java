@@ -0,0 +1,62 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilter;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.repository.BranchReactiveRepository;
+import co.com.bancolombia.r2dbc.repository.FranchiseReactiveRepository;
+import co.com.bancolombia.r2dbc.repository.ProductReactiveRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdExistenceFilterConfig {
+    private static final String PREFIX = "adapters.r2dbc.id-filter";
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public IdExistenceFilters idExistenceFilters(IdExistenceFilterProperties properties) {
+        return new IdExistenceFilters(filter(properties), filter(properties), filter(properties));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public IdExistenceFilterRefresher idExistenceFilterRefresher(IdExistenceFilters idExistenceFilters,
+                                                                 IdExistenceFilterProperties properties,
+                                                                 FranchiseReactiveRepository franchises,
+                                                                 BranchReactiveRepository branches,
+                                                                 ProductReactiveRepository products) {
+        return new IdExistenceFilterRefresher(idExistenceFilters, properties.rebuildInterval(),
+                franchises, branches, products);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder idExistenceFilterMetrics(IdExistenceFilters idExistenceFilters) {
+        return registry -> {
+            register(registry, idExistenceFilters.franchises(), "franchises");
+            register(registry, idExistenceFilters.branches(), "branches");
+            register(registry, idExistenceFilters.products(), "products");
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "false")
+    public IdExistenceFilters disabledIdExistenceFilters() {
+        return IdExistenceFilters.disabled();
+    }
+
+    private static IdExistenceFilter filter(IdExistenceFilterProperties properties) {
+        return new IdExistenceFilter(properties.falsePositiveRate(), properties.maximumMisses(), properties.missTtl());
+    }
+
+    private static void register(MeterRegistry registry, IdExistenceFilter filter, String entity) {
+        FunctionCounter.builder("r2dbc.idfilter.rejected", filter, IdExistenceFilter::rejected)
+                .tag("entity", entity)
+                .description("Lookups answered as not found without reaching the database.")
+                .register(registry);
+    }
+}
@@ -0,0 +1,15 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.id-filter")
+public record IdExistenceFilterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("100000") long maximumMisses,
+        @DefaultValue("5s") Duration missTtl,
+        @DefaultValue("15m") Duration rebuildInterval) {
+}
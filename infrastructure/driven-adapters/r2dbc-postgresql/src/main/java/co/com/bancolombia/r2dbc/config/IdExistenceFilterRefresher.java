@@ -0,0 +1,54 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.repository.BranchReactiveRepository;
+import co.com.bancolombia.r2dbc.repository.FranchiseReactiveRepository;
+import co.com.bancolombia.r2dbc.repository.ProductReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+@RequiredArgsConstructor
+public class IdExistenceFilterRefresher implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+    private final IdExistenceFilters filters;
+    private final Duration rebuildInterval;
+    private final FranchiseReactiveRepository franchises;
+    private final BranchReactiveRepository branches;
+    private final ProductReactiveRepository products;
+    private Disposable refreshes;
+
+    // Starts once migrations ran; until the first scan finishes every id is let through to the database.
+    // Periodic rebuilds drop deleted ids. MAX(id) only sizes each filter.
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        refreshes = Flux.interval(Duration.ZERO, rebuildInterval)
+                .onBackpressureDrop()
+                .concatMap(_ -> rebuild()
+                        .onErrorResume(error -> {
+                            log.warn("Id existence filter rebuild failed: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public Mono<Void> rebuild() {
+        return filters.franchises().rebuild(franchises.findMaxId(), franchises::findIds)
+                .then(filters.branches().rebuild(branches.findMaxId(), branches::findIds))
+                .then(filters.products().rebuild(products.findMaxId(), products::findIds));
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshes != null) {
+            refreshes.dispose();
+        }
+    }
+}
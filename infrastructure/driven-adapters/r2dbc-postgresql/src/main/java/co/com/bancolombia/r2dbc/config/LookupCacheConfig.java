@@ -0,0 +1,64 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import co.com.bancolombia.r2dbc.adapter.BranchRepositoryAdapter;
+import co.com.bancolombia.r2dbc.adapter.FranchiseRepositoryAdapter;
+import co.com.bancolombia.r2dbc.cache.CachedBranchRepository;
+import co.com.bancolombia.r2dbc.cache.CachedFranchiseRepository;
+import co.com.bancolombia.r2dbc.cache.ReactiveLookupCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.lookup-cache", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class LookupCacheConfig {
+    public static final String FRANCHISE_CACHE = "franchises";
+    public static final String BRANCH_CACHE = "branches";
+
+    // Each instance keeps its own copy, expireAfterWrite bounds how long a rename made elsewhere stays stale.
+    @Bean
+    public ReactiveLookupCache<Franchise> franchiseLookupCache(LookupCacheProperties properties) {
+        return new ReactiveLookupCache<>(properties.maximumSize(), properties.expireAfterWrite(),
+                franchise -> franchise.toBuilder().build());
+    }
+
+    @Bean
+    public ReactiveLookupCache<Branch> branchLookupCache(LookupCacheProperties properties) {
+        return new ReactiveLookupCache<>(properties.maximumSize(), properties.expireAfterWrite(),
+                branch -> branch.toBuilder().build());
+    }
+
+    @Bean
+    @Primary
+    public FranchiseRepository cachedFranchiseRepository(FranchiseRepositoryAdapter adapter,
+                                                         ReactiveLookupCache<Franchise> franchiseLookupCache) {
+        return new CachedFranchiseRepository(adapter, franchiseLookupCache);
+    }
+
+    @Bean
+    @Primary
+    public BranchRepository cachedBranchRepository(BranchRepositoryAdapter adapter,
+                                                   ReactiveLookupCache<Branch> branchLookupCache) {
+        return new CachedBranchRepository(adapter, branchLookupCache);
+    }
+
+    @Bean
+    public MeterBinder franchiseLookupCacheMetrics(ReactiveLookupCache<Franchise> franchiseLookupCache) {
+        return new CaffeineCacheMetrics<>(franchiseLookupCache.synchronous(), FRANCHISE_CACHE, List.of());
+    }
+
+    @Bean
+    public MeterBinder branchLookupCacheMetrics(ReactiveLookupCache<Branch> branchLookupCache) {
+        return new CaffeineCacheMetrics<>(branchLookupCache.synchronous(), BRANCH_CACHE, List.of());
+    }
+}
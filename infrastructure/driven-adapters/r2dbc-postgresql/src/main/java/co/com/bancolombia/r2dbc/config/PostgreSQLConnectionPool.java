@@ -1,24 +1,29 @@
 package co.com.bancolombia.r2dbc.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
-import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
 
 @Configuration
 public class PostgreSQLConnectionPool {
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
+    public static final String POOL_NAME = "api-postgres-connection-pool";
+    public static final String PRIMARY_POOL = "primaryConnectionPool";
     public static final int DEFAULT_PORT = 5432;
 
-	@Bean
+	@Bean(PRIMARY_POOL)
 	public ConnectionPool getConnectionConfig(PostgresqlConnectionProperties properties) {
-		PostgresqlConnectionConfiguration dbConfiguration = PostgresqlConnectionConfiguration.builder()
+		PostgresqlConnectionConfiguration dbConfiguration = configurationBuilder(properties)
                 .host(properties.host())
                 .port(properties.port())
                 .database(properties.database())
@@ -27,15 +32,55 @@ public class PostgreSQLConnectionPool {
                 .password(properties.password())
                 .build();
 
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
+		return createPool(POOL_NAME, dbConfiguration, properties);
+	}
+
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory(@Qualifier(PRIMARY_POOL) ConnectionPool primary,
+                                               @Qualifier(ReplicaConnectionPool.REPLICA_POOL)
+                                               ObjectProvider<ConnectionPool> replica,
+                                               ReplicaConnectionProperties replicaProperties) {
+        return new ReadWriteRoutingConnectionFactory(primary, replica.getIfAvailable(),
+                replicaProperties.readYourWrites());
+    }
+
+    // Boot only binds the pools it can unwrap from a ConnectionFactory, and both pools sit behind the routing
+    // factory. The gauges reuse Boot's meter names and bean-name tag, so a pool Boot binds as well shows up once.
+    @Bean
+    public MeterBinder connectionPoolMetrics(Map<String, ConnectionPool> connectionPools) {
+        return new ConnectionPoolMetrics(connectionPools);
+    }
+
+    static PostgresqlConnectionConfiguration.Builder configurationBuilder(PostgresqlConnectionProperties properties) {
+        PostgresqlConnectionProperties.Statements statements = Optional.ofNullable(properties.statements())
+                .orElseGet(PostgresqlConnectionProperties.Statements::defaults);
+
+        return PostgresqlConnectionConfiguration.builder()
+                .preparedStatementCacheQueries(statements.preparedStatementCacheQueries())
+                .forceBinary(statements.forceBinary());
+    }
+
+    static ConnectionPool createPool(String name, PostgresqlConnectionConfiguration dbConfiguration,
+                                     PostgresqlConnectionProperties properties) {
+        PostgresqlConnectionProperties.Pool pool = Optional.ofNullable(properties.pool())
+                .orElseGet(PostgresqlConnectionProperties.Pool::defaults);
+
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration.builder()
                 .connectionFactory(new PostgresqlConnectionFactory(dbConfiguration))
-                .name("api-postgres-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
+                .name(name)
+                .initialSize(pool.initialSize())
+                .maxSize(pool.maxSize())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .maxAcquireTime(pool.maxAcquireTime())
+                .acquireRetry(pool.acquireRetry())
+                .validationDepth(pool.validationDepth());
 
-		return new ConnectionPool(poolConfiguration);
-	}
-}
\ No newline at end of file
+        if (pool.validationQuery() != null && !pool.validationQuery().isBlank()) {
+            poolConfiguration.validationQuery(pool.validationQuery());
+        }
+
+        return new ConnectionPool(poolConfiguration.build());
+    }
+}
@@ -1,7 +1,10 @@
 package co.com.bancolombia.r2dbc.config;
 
+import io.r2dbc.spi.ValidationDepth;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record PostgresqlConnectionProperties(
         String host,
@@ -9,5 +12,74 @@ public record PostgresqlConnectionProperties(
         String database,
         String schema,
         String username,
-        String password) {
+        String password,
+        Statements statements,
+        Pool pool) {
+
+    public record Statements(
+            Integer preparedStatementCacheQueries,
+            Boolean forceBinary) {
+        public static final int DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES = 256;
+
+        public Statements {
+            if (preparedStatementCacheQueries == null) {
+                preparedStatementCacheQueries = DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES;
+            }
+            if (forceBinary == null) {
+                forceBinary = Boolean.FALSE;
+            }
+        }
+
+        public static Statements defaults() {
+            return new Statements(null, null);
+        }
+    }
+
+    public record Pool(
+            Integer initialSize,
+            Integer maxSize,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration maxAcquireTime,
+            Integer acquireRetry,
+            ValidationDepth validationDepth,
+            String validationQuery) {
+        public static final int DEFAULT_INITIAL_SIZE = 12;
+        public static final int DEFAULT_MAX_SIZE = 15;
+        public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofMinutes(30);
+        public static final Duration DEFAULT_MAX_LIFE_TIME = Duration.ofMinutes(60);
+        public static final Duration DEFAULT_MAX_ACQUIRE_TIME = Duration.ofSeconds(5);
+        public static final int DEFAULT_ACQUIRE_RETRY = 1;
+
+        public Pool {
+            if (initialSize == null || initialSize < 0) {
+                initialSize = DEFAULT_INITIAL_SIZE;
+            }
+            if (maxSize == null || maxSize <= 0) {
+                maxSize = DEFAULT_MAX_SIZE;
+            }
+            if (initialSize > maxSize) {
+                initialSize = maxSize;
+            }
+            if (maxIdleTime == null) {
+                maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+            }
+            if (maxLifeTime == null) {
+                maxLifeTime = DEFAULT_MAX_LIFE_TIME;
+            }
+            if (maxAcquireTime == null) {
+                maxAcquireTime = DEFAULT_MAX_ACQUIRE_TIME;
+            }
+            if (acquireRetry == null || acquireRetry < 0) {
+                acquireRetry = DEFAULT_ACQUIRE_RETRY;
+            }
+            if (validationDepth == null) {
+                validationDepth = ValidationDepth.LOCAL;
+            }
+        }
+
+        public static Pool defaults() {
+            return new Pool(null, null, null, null, null, null, null, null);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+    private final boolean replicaConfigured;
+    private final boolean readYourWrites;
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica,
+                                             boolean readYourWrites) {
+        this.replicaConfigured = replica != null;
+        this.readYourWrites = readYourWrites;
+        Map<ConnectionRouting.Route, ConnectionFactory> targets = new EnumMap<>(ConnectionRouting.Route.class);
+        targets.put(ConnectionRouting.Route.PRIMARY, primary);
+        if (replica != null) {
+            targets.put(ConnectionRouting.Route.REPLICA, replica);
+        }
+        setTargetConnectionFactories(Map.copyOf(targets));
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        // Without a replica every statement runs on the primary, so read-only calls are not reported as replica reads.
+        if (!replicaConfigured) {
+            return Mono.just(ConnectionRouting.Route.PRIMARY);
+        }
+        return Mono.deferContextual(context -> Mono.just(ConnectionRouting.route(context, readYourWrites)));
+    }
+}
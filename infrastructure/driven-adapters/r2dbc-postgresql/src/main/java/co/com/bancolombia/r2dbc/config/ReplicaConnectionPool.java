@@ -0,0 +1,33 @@
+package co.com.bancolombia.r2dbc.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+public class ReplicaConnectionPool {
+    public static final String POOL_NAME = "api-postgres-replica-connection-pool";
+    public static final String REPLICA_POOL = "replicaConnectionPool";
+
+    @Bean(REPLICA_POOL)
+    public ConnectionPool replicaConnectionPool(PostgresqlConnectionProperties properties,
+                                                ReplicaConnectionProperties replica) {
+        PostgresqlConnectionConfiguration dbConfiguration = PostgreSQLConnectionPool.configurationBuilder(properties)
+                .host(orPrimary(replica.host(), properties.host()))
+                .port(orPrimary(replica.port(), properties.port()))
+                .database(orPrimary(replica.database(), properties.database()))
+                .schema(orPrimary(replica.schema(), properties.schema()))
+                .username(orPrimary(replica.username(), properties.username()))
+                .password(orPrimary(replica.password(), properties.password()))
+                .build();
+
+        return PostgreSQLConnectionPool.createPool(POOL_NAME, dbConfiguration, properties);
+    }
+
+    private static <T> T orPrimary(T replicaValue, T primaryValue) {
+        return replicaValue != null ? replicaValue : primaryValue;
+    }
+}
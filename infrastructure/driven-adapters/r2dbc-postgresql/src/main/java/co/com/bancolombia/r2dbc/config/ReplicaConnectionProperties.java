@@ -0,0 +1,16 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.replica")
+public record ReplicaConnectionProperties(
+        boolean enabled,
+        String host,
+        Integer port,
+        String database,
+        String schema,
+        String username,
+        String password,
+        @DefaultValue("true") boolean readYourWrites) {
+}
@@ -0,0 +1,15 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class RowReaderConfig {
+
+    @Bean
+    public RowReaderQueries rowReaderQueries(DatabaseClient databaseClient) {
+        return new RowReaderQueries(databaseClient);
+    }
+}
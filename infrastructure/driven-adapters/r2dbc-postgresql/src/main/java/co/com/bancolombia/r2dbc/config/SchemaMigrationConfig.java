@@ -0,0 +1,44 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.migrations", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class SchemaMigrationConfig {
+    public static final String MIGRATION_LOCATION = "classpath:db/migration";
+    public static final String BASELINE_VERSION = "1";
+
+    // Migrations run over a short-lived JDBC connection before the context finishes starting,
+    // the R2DBC pool never sees them.
+    @Bean(initMethod = "migrate")
+    public Flyway flyway(PostgresqlConnectionProperties properties, SchemaMigrationProperties migrations) {
+        return configure(properties, migrations).load();
+    }
+
+    static FluentConfiguration configure(PostgresqlConnectionProperties properties,
+                                         SchemaMigrationProperties migrations) {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(jdbcUrl(properties), properties.username(), properties.password())
+                .locations(MIGRATION_LOCATION)
+                // Databases created before the migrations existed already hold the V1 tables.
+                .baselineOnMigrate(migrations.baselineOnMigrate())
+                .baselineVersion(BASELINE_VERSION);
+
+        if (properties.schema() != null && !properties.schema().isBlank()) {
+            configuration.schemas(properties.schema());
+        }
+        return configuration;
+    }
+
+    static String jdbcUrl(PostgresqlConnectionProperties properties) {
+        int port = Optional.ofNullable(properties.port()).orElse(PostgreSQLConnectionPool.DEFAULT_PORT);
+        return "jdbc:postgresql://" + properties.host() + ":" + port + "/" + properties.database();
+    }
+}
@@ -0,0 +1,10 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.migrations")
+public record SchemaMigrationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean baselineOnMigrate) {
+}
@@ -0,0 +1,36 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.r2dbc.adapter.ProductRepositoryAdapter;
+import co.com.bancolombia.r2dbc.cache.SingleFlight;
+import co.com.bancolombia.r2dbc.cache.SingleFlightProductRepository;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(prefix = "adapters.r2dbc.single-flight", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class SingleFlightConfig {
+    public static final String TOP_STOCK_WITH_BRANCH_FLIGHTS = "top-stock-with-branch";
+
+    @Bean
+    public SingleFlight<Long, ProductWithBranch> topStockWithBranchFlights(SingleFlightProperties properties) {
+        return new SingleFlight<>(properties.maxInFlight());
+    }
+
+    @Bean
+    @Primary
+    public ProductRepository singleFlightProductRepository(ProductRepositoryAdapter adapter,
+                                                           SingleFlight<Long, ProductWithBranch> topStockWithBranchFlights) {
+        return new SingleFlightProductRepository(adapter, topStockWithBranchFlights);
+    }
+
+    @Bean
+    public MeterBinder topStockWithBranchFlightMetrics(SingleFlight<Long, ProductWithBranch> topStockWithBranchFlights) {
+        return new SingleFlightMetrics(topStockWithBranchFlights, TOP_STOCK_WITH_BRANCH_FLIGHTS);
+    }
+}
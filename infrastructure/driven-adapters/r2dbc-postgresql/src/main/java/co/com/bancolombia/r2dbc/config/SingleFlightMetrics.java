@@ -0,0 +1,42 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.cache.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.ToDoubleFunction;
+
+@RequiredArgsConstructor
+public class SingleFlightMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "r2dbc.singleflight.";
+
+    private final SingleFlight<?, ?> singleFlight;
+    private final String name;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("name", name);
+        register(registry, tags, "led", SingleFlight::led,
+                "Queries that went to the database and were shared with concurrent callers.");
+        register(registry, tags, "coalesced", SingleFlight::coalesced,
+                "Calls served by joining a query already in flight for the same key.");
+        register(registry, tags, "bypassed", SingleFlight::bypassed,
+                "Calls that ran on their own: the in-flight limit was reached or they must read from the primary.");
+        Gauge.builder(METRIC_PREFIX + "in.flight", singleFlight, SingleFlight::inFlight)
+                .tags(tags)
+                .description("Keys with a query in flight.")
+                .register(registry);
+    }
+
+    private void register(MeterRegistry registry, Tags tags, String outcome,
+                          ToDoubleFunction<SingleFlight<?, ?>> value, String description) {
+        FunctionCounter.builder(METRIC_PREFIX + "calls", singleFlight, value)
+                .tags(tags.and("outcome", outcome))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import co.com.bancolombia.r2dbc.events.InMemoryProductStockChangeBus;
+import co.com.bancolombia.r2dbc.events.NoOpProductStockChangeBus;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StockChangesConfig {
+    private static final String PREFIX = "adapters.r2dbc.stock-changes";
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public InMemoryProductStockChangeBus productStockChangeBus(BranchRepository branchRepository,
+                                                               StockChangesProperties properties) {
+        return new InMemoryProductStockChangeBus(branchRepository, properties.maxPendingPerSubscriber());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder stockChangesMetrics(InMemoryProductStockChangeBus productStockChangeBus) {
+        return new StockChangesMetrics(productStockChangeBus);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "false")
+    public ProductStockChangeBus disabledProductStockChangeBus() {
+        return new NoOpProductStockChangeBus();
+    }
+}
@@ -0,0 +1,37 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.events.InMemoryProductStockChangeBus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.ToDoubleFunction;
+
+@RequiredArgsConstructor
+public class StockChangesMetrics implements MeterBinder {
+    private static final String METRIC_PREFIX = "stock.changes.";
+
+    private final InMemoryProductStockChangeBus bus;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + "subscribers", bus, InMemoryProductStockChangeBus::subscribers)
+                .description("Open stock change subscriptions.")
+                .register(registry);
+        register(registry, "published", InMemoryProductStockChangeBus::published,
+                "Stock changes fanned out to subscribers.");
+        register(registry, "conflated", InMemoryProductStockChangeBus::conflated,
+                "Pending changes replaced by a newer one for the same product before delivery.");
+        register(registry, "overflowed", InMemoryProductStockChangeBus::overflowed,
+                "Subscriptions dropped for falling behind on too many products.");
+    }
+
+    private void register(MeterRegistry registry, String name,
+                          ToDoubleFunction<InMemoryProductStockChangeBus> value, String description) {
+        FunctionCounter.builder(METRIC_PREFIX + name, bus, value)
+                .description(description)
+                .register(registry);
+    }
+}
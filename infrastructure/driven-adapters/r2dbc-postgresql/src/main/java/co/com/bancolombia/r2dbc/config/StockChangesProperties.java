@@ -0,0 +1,10 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.stock-changes")
+public record StockChangesProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int maxPendingPerSubscriber) {
+}
@@ -0,0 +1,48 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.TopStockProducts;
+import co.com.bancolombia.model.product.gateways.TopStockProductsCache;
+import co.com.bancolombia.r2dbc.cache.CaffeineTopStockProductsCache;
+import co.com.bancolombia.r2dbc.cache.NoOpTopStockProductsCache;
+import co.com.bancolombia.r2dbc.cache.ReactiveLookupCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class TopStockCacheConfig {
+    public static final String TOP_STOCK_CACHE = "top-stock-products";
+    private static final String PREFIX = "adapters.r2dbc.top-stock-cache";
+
+    // Writes on this instance evict right away; maxStaleness bounds what writes on other instances can leave behind.
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ReactiveLookupCache<TopStockProducts> topStockLookupCache(TopStockCacheProperties properties) {
+        return new ReactiveLookupCache<>(properties.maximumSize(), properties.maxStaleness(),
+                snapshot -> snapshot.toBuilder().products(List.copyOf(snapshot.getProducts())).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TopStockProductsCache topStockProductsCache(ReactiveLookupCache<TopStockProducts> topStockLookupCache,
+                                                       BranchRepository branchRepository) {
+        return new CaffeineTopStockProductsCache(topStockLookupCache, branchRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder topStockCacheMetrics(ReactiveLookupCache<TopStockProducts> topStockLookupCache) {
+        return new CaffeineCacheMetrics<>(topStockLookupCache.synchronous(), TOP_STOCK_CACHE, List.of());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PREFIX, name = "enabled", havingValue = "false")
+    public TopStockProductsCache uncachedTopStockProducts() {
+        return new NoOpTopStockProductsCache();
+    }
+}
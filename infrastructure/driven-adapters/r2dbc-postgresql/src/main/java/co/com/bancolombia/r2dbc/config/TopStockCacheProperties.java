@@ -0,0 +1,13 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.top-stock-cache")
+public record TopStockCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") long maximumSize,
+        @DefaultValue("30s") Duration maxStaleness) {
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Table;
 
 @Table("products")
@@ -18,5 +19,7 @@ public class ProductEntity {
     private String name;
     private Integer stock;
     private Long branchId;
+    @Version
+    private Long version;
 }
 
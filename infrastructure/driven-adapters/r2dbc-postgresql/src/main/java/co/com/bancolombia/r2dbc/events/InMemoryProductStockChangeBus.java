@@ -0,0 +1,124 @@
+package co.com.bancolombia.r2dbc.events;
+
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import lombok.RequiredArgsConstructor;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Changes are only seen by subscribers of this instance, writes served by other instances are not relayed.
+@RequiredArgsConstructor
+public class InMemoryProductStockChangeBus implements ProductStockChangeBus {
+    private final BranchRepository branchRepository;
+    private final int maxPendingPerSubscriber;
+    private final Set<ConflatingSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    // The franchise is only resolved when someone listens, so writes pay nothing without subscribers.
+    @Override
+    public Mono<Void> publish(ProductStockChange change) {
+        return Mono.defer(() -> subscribers.isEmpty()
+                ? Mono.empty()
+                : branchRepository.findById(change.getBranchId())
+                        .map(branch -> change.toBuilder().franchiseId(branch.getFranchiseId()).build())
+                        .doOnNext(resolved -> {
+                            published.incrementAndGet();
+                            subscribers.forEach(subscriber -> subscriber.offer(resolved));
+                        })
+                        .then());
+    }
+
+    @Override
+    public Flux<ProductStockChange> subscribeToFranchise(Long franchiseId) {
+        return subscribe(change -> franchiseId.equals(change.getFranchiseId()));
+    }
+
+    @Override
+    public Flux<ProductStockChange> subscribeToBranch(Long branchId) {
+        return subscribe(change -> branchId.equals(change.getBranchId()));
+    }
+
+    private Flux<ProductStockChange> subscribe(Predicate<ProductStockChange> filter) {
+        return Flux.create(sink -> {
+            ConflatingSubscriber subscriber = new ConflatingSubscriber(filter, sink);
+            sink.onRequest(_ -> subscriber.drain());
+            sink.onDispose(() -> subscribers.remove(subscriber));
+            subscribers.add(subscriber);
+        });
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    public long published() {
+        return published.get();
+    }
+
+    public long conflated() {
+        return conflated.get();
+    }
+
+    public long overflowed() {
+        return overflowed.get();
+    }
+
+    private final class ConflatingSubscriber {
+        private final Predicate<ProductStockChange> filter;
+        private final FluxSink<ProductStockChange> sink;
+        // Keyed by product so a newer change replaces the pending one in place, keeping its turn in the queue.
+        private final Map<Long, ProductStockChange> pending = new LinkedHashMap<>();
+        private boolean draining;
+
+        private ConflatingSubscriber(Predicate<ProductStockChange> filter, FluxSink<ProductStockChange> sink) {
+            this.filter = filter;
+            this.sink = sink;
+        }
+
+        // A subscriber that falls behind on more products than the buffer holds is dropped rather than silently
+        // skipping some of them, the client reconnects and reloads top-products instead.
+        synchronized void offer(ProductStockChange change) {
+            if (!filter.test(change)) {
+                return;
+            }
+            if (pending.put(change.getProductId(), change) != null) {
+                conflated.incrementAndGet();
+            } else if (pending.size() > maxPendingPerSubscriber) {
+                pending.clear();
+                overflowed.incrementAndGet();
+                sink.error(Exceptions.failWithOverflow(
+                        "More than " + maxPendingPerSubscriber + " products with undelivered stock changes"));
+                return;
+            }
+            drain();
+        }
+
+        // Demand raised while emitting is picked up by the running loop instead of a nested one.
+        synchronized void drain() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                while (sink.requestedFromDownstream() > 0 && !pending.isEmpty()) {
+                    Long productId = pending.keySet().iterator().next();
+                    sink.next(pending.remove(productId));
+                }
+            } finally {
+                draining = false;
+            }
+        }
+    }
+}
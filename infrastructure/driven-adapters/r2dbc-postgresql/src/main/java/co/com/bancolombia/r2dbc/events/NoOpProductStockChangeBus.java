@@ -0,0 +1,25 @@
+package co.com.bancolombia.r2dbc.events;
+
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.gateways.ProductStockChangeBus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// With the push channel off subscriptions complete right away, so clients fall back to polling.
+public class NoOpProductStockChangeBus implements ProductStockChangeBus {
+
+    @Override
+    public Mono<Void> publish(ProductStockChange change) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<ProductStockChange> subscribeToFranchise(Long franchiseId) {
+        return Flux.empty();
+    }
+
+    @Override
+    public Flux<ProductStockChange> subscribeToBranch(Long branchId) {
+        return Flux.empty();
+    }
+}
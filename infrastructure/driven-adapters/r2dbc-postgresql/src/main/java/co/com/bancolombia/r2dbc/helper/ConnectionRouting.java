@@ -0,0 +1,77 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import lombok.experimental.UtilityClass;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@UtilityClass
+public class ConnectionRouting {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final String READ_ONLY_KEY = ConnectionRouting.class.getName() + ".READ_ONLY";
+    private static final String PRIMARY_KEY = ConnectionRouting.class.getName() + ".PRIMARY";
+    private static final String SESSION_KEY = ConnectionRouting.class.getName() + ".SESSION";
+    private static final String REPLICA_READS_KEY = ConnectionRouting.class.getName() + ".REPLICA_READS";
+
+    public static <T> Mono<T> readOnly(Mono<T> publisher) {
+        return publisher.contextWrite(context -> context.put(READ_ONLY_KEY, Boolean.TRUE));
+    }
+
+    public static <T> Flux<T> readOnly(Flux<T> publisher) {
+        return publisher.contextWrite(context -> context.put(READ_ONLY_KEY, Boolean.TRUE));
+    }
+
+    // Sends even the read-only statements of the publisher to the primary, without marking the session as written.
+    public static <T> Mono<T> onPrimary(Mono<T> publisher) {
+        return publisher.contextWrite(context -> context.put(PRIMARY_KEY, Boolean.TRUE));
+    }
+
+    // Runs onEmpty when the publisher completes empty, unless any of its statements was read from the replica,
+    // where an empty result may only mean the row has not replicated yet.
+    public static <T> Mono<T> onEmptyFromPrimary(Mono<T> publisher, Runnable onEmpty) {
+        return Mono.defer(() -> {
+            AtomicBoolean replicaRead = new AtomicBoolean();
+            return publisher
+                    .switchIfEmpty(Mono.fromRunnable(() -> {
+                        if (!replicaRead.get()) {
+                            onEmpty.run();
+                        }
+                    }))
+                    .contextWrite(context -> context.put(REPLICA_READS_KEY, replicaRead));
+        });
+    }
+
+    // Whether this context may need read-only statements on the primary: it forces the primary or its session
+    // already wrote. Errs towards true when read-your-writes is off, since callers only use it to avoid sharing reads.
+    public static boolean pinnedToPrimary(ContextView context) {
+        return context.getOrDefault(PRIMARY_KEY, Boolean.FALSE)
+                || context.<AtomicBoolean>getOrEmpty(SESSION_KEY).map(AtomicBoolean::get).orElse(false);
+    }
+
+    public static Context withSession(Context context) {
+        return context.hasKey(SESSION_KEY) ? context : context.put(SESSION_KEY, new AtomicBoolean());
+    }
+
+    public static Route route(ContextView context, boolean readYourWrites) {
+        Optional<AtomicBoolean> written = context.getOrEmpty(SESSION_KEY);
+        if (!context.getOrDefault(READ_ONLY_KEY, Boolean.FALSE)) {
+            written.ifPresent(flag -> flag.set(true));
+            return Route.PRIMARY;
+        }
+        if (context.getOrDefault(PRIMARY_KEY, Boolean.FALSE)
+                || readYourWrites && written.map(AtomicBoolean::get).orElse(false)) {
+            return Route.PRIMARY;
+        }
+        context.<AtomicBoolean>getOrEmpty(REPLICA_READS_KEY).ifPresent(flag -> flag.set(true));
+        return Route.REPLICA;
+    }
+}
@@ -0,0 +1,116 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class IdExistenceFilter {
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final Cache<Long, Boolean> misses;
+    private final LongAdder rejected = new LongAdder();
+    private volatile LongBloomFilter snapshot;
+    private volatile LongBloomFilter pending;
+
+    public IdExistenceFilter(double falsePositiveRate, long maximumMisses, Duration missTtl) {
+        this.enabled = true;
+        this.falsePositiveRate = falsePositiveRate;
+        this.misses = Caffeine.newBuilder()
+                .maximumSize(maximumMisses)
+                .expireAfterWrite(missTtl)
+                .build();
+    }
+
+    private IdExistenceFilter() {
+        this.enabled = false;
+        this.falsePositiveRate = 1;
+        this.misses = Caffeine.newBuilder().maximumSize(0).build();
+    }
+
+    public static IdExistenceFilter disabled() {
+        return new IdExistenceFilter();
+    }
+
+    // Only a remembered miss or an id that can never exist is known missing. A bloom negative is just a hint:
+    // sequence values are handed out before commit, so a row can commit after the scan with an id it never saw.
+    public boolean knownMissing(Long id) {
+        return enabled && (id == null || id <= 0 || misses.getIfPresent(id) != null);
+    }
+
+    public boolean mightExist(Long id) {
+        if (!enabled) {
+            return true;
+        }
+        LongBloomFilter current = snapshot;
+        return !knownMissing(id) && (current == null || current.mightContain(id));
+    }
+
+    // Empty when the id is known missing. An id the filter has not seen is confirmed on the primary, and an empty
+    // result read from the primary is remembered as a miss.
+    public <T> Mono<T> lookup(Long id, Supplier<Mono<T>> query) {
+        return guard(id, () -> ConnectionRouting.onEmptyFromPrimary(
+                mightExist(id) ? query.get() : ConnectionRouting.onPrimary(query.get()), () -> recordMiss(id)));
+    }
+
+    // Empty when the id is known missing; an empty result is not remembered since it may mean a failed condition.
+    public <T> Mono<T> guard(Long id, Supplier<Mono<T>> query) {
+        return Mono.defer(() -> {
+            if (knownMissing(id)) {
+                rejected.increment();
+                return Mono.empty();
+            }
+            return query.get();
+        });
+    }
+
+    public void recordInsert(Long id) {
+        if (!enabled) {
+            return;
+        }
+        misses.invalidate(id);
+        // Pending first: rebuild publishes the new snapshot before clearing it, so the id lands in one of the two.
+        LongBloomFilter scanning = pending;
+        if (scanning != null) {
+            scanning.put(id);
+        }
+        LongBloomFilter current = snapshot;
+        if (current != null) {
+            current.put(id);
+        }
+    }
+
+    public void recordMiss(Long id) {
+        if (enabled && id != null) {
+            misses.put(id, Boolean.TRUE);
+        }
+    }
+
+    // Swaps in a new filter once the scan completes; rows deleted since the last one stop passing the filter.
+    // The expected size only sizes the bit array.
+    public Mono<Void> rebuild(Mono<Long> expectedIds, Supplier<Flux<Long>> allIds) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return expectedIds.flatMap(expected -> {
+            LongBloomFilter ids = new LongBloomFilter(expected, falsePositiveRate);
+            return Mono.fromRunnable(() -> pending = ids)
+                    .thenMany(Flux.defer(allIds))
+                    .doOnNext(ids::put)
+                    .then(Mono.<Void>fromRunnable(() -> snapshot = ids))
+                    .doFinally(_ -> pending = null);
+        });
+    }
+
+    public boolean loaded() {
+        return snapshot != null;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,10 @@
+package co.com.bancolombia.r2dbc.helper;
+
+public record IdExistenceFilters(IdExistenceFilter franchises, IdExistenceFilter branches,
+                                 IdExistenceFilter products) {
+
+    public static IdExistenceFilters disabled() {
+        return new IdExistenceFilters(IdExistenceFilter.disabled(), IdExistenceFilter.disabled(),
+                IdExistenceFilter.disabled());
+    }
+}
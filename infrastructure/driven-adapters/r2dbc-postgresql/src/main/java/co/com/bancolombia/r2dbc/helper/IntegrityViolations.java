@@ -0,0 +1,20 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import io.r2dbc.spi.R2dbcException;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class IntegrityViolations {
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    public static boolean isForeignKeyViolation(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof R2dbcException r2dbcException
+                    && FOREIGN_KEY_VIOLATION.equals(r2dbcException.getSqlState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
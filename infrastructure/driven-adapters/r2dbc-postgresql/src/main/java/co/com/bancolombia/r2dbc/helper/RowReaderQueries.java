@@ -0,0 +1,45 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+public class RowReaderQueries {
+    private final DatabaseClient databaseClient;
+
+    public RowReaderQueries(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public static <V> Parameter param(String name, V value, Class<V> type) {
+        return new Parameter(name, value, type);
+    }
+
+    public <T> Mono<T> one(String sql, Function<Row, T> reader, Parameter... parameters) {
+        return bind(sql, parameters)
+                .map((row, _) -> reader.apply(row))
+                .one();
+    }
+
+    public <T> Flux<T> all(String sql, Function<Row, T> reader, Parameter... parameters) {
+        return bind(sql, parameters)
+                .map((row, _) -> reader.apply(row))
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(String sql, Parameter... parameters) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (Parameter parameter : parameters) {
+            spec = parameter.value() == null
+                    ? spec.bindNull(parameter.name(), parameter.type())
+                    : spec.bind(parameter.name(), parameter.value());
+        }
+        return spec;
+    }
+
+    public record Parameter(String name, Object value, Class<?> type) {
+    }
+}
@@ -0,0 +1,34 @@
+package co.com.bancolombia.r2dbc.mapper;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.r2dbc.entity.BranchEntity;
+import io.r2dbc.spi.Row;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class BranchEntityMapper {
+
+    public static Branch toDomain(BranchEntity entity) {
+        return Branch.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .franchiseId(entity.getFranchiseId())
+                .build();
+    }
+
+    public static BranchEntity toEntity(Branch branch) {
+        return BranchEntity.builder()
+                .id(branch.getId())
+                .name(branch.getName())
+                .franchiseId(branch.getFranchiseId())
+                .build();
+    }
+
+    public static Branch fromRow(Row row) {
+        return Branch.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .franchiseId(row.get("franchise_id", Long.class))
+                .build();
+    }
+}
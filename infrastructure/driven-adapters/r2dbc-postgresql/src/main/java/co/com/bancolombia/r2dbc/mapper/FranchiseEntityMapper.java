@@ -0,0 +1,31 @@
+package co.com.bancolombia.r2dbc.mapper;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.r2dbc.entity.FranchiseEntity;
+import io.r2dbc.spi.Row;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class FranchiseEntityMapper {
+
+    public static Franchise toDomain(FranchiseEntity entity) {
+        return Franchise.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .build();
+    }
+
+    public static FranchiseEntity toEntity(Franchise franchise) {
+        return FranchiseEntity.builder()
+                .id(franchise.getId())
+                .name(franchise.getName())
+                .build();
+    }
+
+    public static Franchise fromRow(Row row) {
+        return Franchise.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package co.com.bancolombia.r2dbc.mapper;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.r2dbc.entity.ProductEntity;
+import io.r2dbc.spi.Row;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class ProductEntityMapper {
+
+    public static Product toDomain(ProductEntity entity) {
+        return Product.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .stock(entity.getStock())
+                .branchId(entity.getBranchId())
+                .version(entity.getVersion())
+                .build();
+    }
+
+    public static ProductEntity toEntity(Product product) {
+        return ProductEntity.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .stock(product.getStock())
+                .branchId(product.getBranchId())
+                .version(product.getVersion())
+                .build();
+    }
+
+    public static Product fromRow(Row row) {
+        return Product.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .stock(row.get("stock", Integer.class))
+                .branchId(row.get("branch_id", Long.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    public static ProductWithBranch topStockFromRow(Row row) {
+        Long branchId = row.get("branch_id", Long.class);
+        return ProductWithBranch.builder()
+                .product(Product.builder()
+                        .id(row.get("product_id", Long.class))
+                        .name(row.get("product_name", String.class))
+                        .stock(row.get("stock", Integer.class))
+                        .branchId(branchId)
+                        .build())
+                .branch(Branch.builder()
+                        .id(branchId)
+                        .name(row.get("branch_name", String.class))
+                        .franchiseId(row.get("franchise_id", Long.class))
+                        .build())
+                .build();
+    }
+}
@@ -1,9 +1,29 @@
 package co.com.bancolombia.r2dbc.repository;
 
 import co.com.bancolombia.r2dbc.entity.BranchEntity;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface BranchReactiveRepository extends ReactiveCrudRepository<BranchEntity, Long>, ReactiveQueryByExampleExecutor<BranchEntity> {
 
+    String FIND_BY_ID = "SELECT * FROM branches WHERE id = :id";
+
+    String FIND_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM branches";
+
+    String FIND_IDS = "SELECT id FROM branches";
+
+    String UPDATE_NAME = "UPDATE branches SET name = :name WHERE id = :id RETURNING *";
+
+    String FIND_BY_FRANCHISE_ID_AFTER = "SELECT * FROM branches " +
+            "WHERE franchise_id = :franchiseId AND id > :afterId " +
+            "ORDER BY id LIMIT :limit";
+
+    @Query(FIND_MAX_ID)
+    Mono<Long> findMaxId();
+
+    @Query(FIND_IDS)
+    Flux<Long> findIds();
 }
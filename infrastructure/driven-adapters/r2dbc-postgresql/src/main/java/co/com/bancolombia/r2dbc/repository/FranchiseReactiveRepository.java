@@ -1,9 +1,25 @@
 package co.com.bancolombia.r2dbc.repository;
 
 import co.com.bancolombia.r2dbc.entity.FranchiseEntity;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface FranchiseReactiveRepository extends ReactiveCrudRepository<FranchiseEntity, Long>, ReactiveQueryByExampleExecutor<FranchiseEntity> {
 
+    String FIND_BY_ID = "SELECT * FROM franchises WHERE id = :id";
+
+    String FIND_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM franchises";
+
+    String FIND_IDS = "SELECT id FROM franchises";
+
+    String UPDATE_NAME = "UPDATE franchises SET name = :name WHERE id = :id RETURNING *";
+
+    @Query(FIND_MAX_ID)
+    Mono<Long> findMaxId();
+
+    @Query(FIND_IDS)
+    Flux<Long> findIds();
 }
@@ -5,13 +5,60 @@ import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface ProductReactiveRepository extends ReactiveCrudRepository<ProductEntity, Long>, ReactiveQueryByExampleExecutor<ProductEntity> {
 
-    @Query("SELECT p.* FROM products p " +
-            "INNER JOIN branches b ON p.branch_id = b.id " +
-            "WHERE b.franchise_id = :franchiseId " +
-            "AND p.id = (SELECT id FROM products p2 WHERE p2.branch_id = p.branch_id AND p2.stock = " +
-            "(SELECT MAX(p3.stock) FROM products p3 WHERE p3.branch_id = p.branch_id) ORDER BY p2.id ASC LIMIT 1)")
-    Flux<ProductEntity> findTopStockProductsByFranchise(Long franchiseId);
+    String FIND_BY_ID = "SELECT * FROM products WHERE id = :id";
+
+    String FIND_MAX_ID = "SELECT COALESCE(MAX(id), 0) FROM products";
+
+    String FIND_IDS = "SELECT id FROM products";
+
+    String FIND_TOP_STOCK_PRODUCTS_WITH_BRANCH_BY_FRANCHISE =
+            "SELECT f.id AS franchise_id, t.product_id, t.product_name, t.stock, t.branch_id, t.branch_name " +
+            "FROM franchises f " +
+            "LEFT JOIN LATERAL (" +
+            "SELECT DISTINCT ON (p.branch_id) p.id AS product_id, p.name AS product_name, p.stock, " +
+            "b.id AS branch_id, b.name AS branch_name " +
+            "FROM branches b INNER JOIN products p ON p.branch_id = b.id " +
+            "WHERE b.franchise_id = f.id " +
+            "ORDER BY p.branch_id, p.stock DESC, p.id" +
+            ") t ON TRUE " +
+            "WHERE f.id = :franchiseId";
+
+    String FIND_BY_BRANCH_ID_AFTER = "SELECT * FROM products " +
+            "WHERE branch_id = :branchId AND id > :afterId " +
+            "ORDER BY id LIMIT :limit";
+
+    String DELETE_RETURNING_BY_ID = "DELETE FROM products WHERE id = :id RETURNING *";
+
+    String UPDATE_NAME = "UPDATE products SET name = :name, version = version + 1 WHERE id = :id RETURNING *";
+
+    String UPDATE_STOCK = "UPDATE products SET stock = :stock, version = version + 1 WHERE id = :id RETURNING *";
+
+    String UPDATE_STOCK_IF_VERSION = "UPDATE products SET stock = :stock, version = version + 1 " +
+            "WHERE id = :id AND version = :version RETURNING *";
+
+    // The sum is range-checked as BIGINT, so a result outside INTEGER leaves the row alone instead of failing.
+    String ADJUST_STOCK = "UPDATE products SET stock = stock + :delta, version = version + 1 " +
+            "WHERE id = :id AND stock::BIGINT + :delta " +
+            "BETWEEN CASE WHEN :allowNegative THEN " + Integer.MIN_VALUE + " ELSE 0 END AND " + Integer.MAX_VALUE +
+            " RETURNING *";
+
+    @Query("UPDATE products p SET stock = u.stock, version = p.version + 1 " +
+            "FROM unnest(CAST(:ids AS BIGINT[]), CAST(:stocks AS INTEGER[])) AS u(id, stock) " +
+            "WHERE p.id = u.id RETURNING p.*")
+    Flux<ProductEntity> updateStocks(Long[] ids, Integer[] stocks);
+
+    @Query("INSERT INTO products (name, stock, branch_id) " +
+            "SELECT * FROM unnest(CAST(:names AS VARCHAR[]), CAST(:stocks AS INTEGER[]), CAST(:branchIds AS BIGINT[])) " +
+            "RETURNING *")
+    Flux<ProductEntity> insertAll(String[] names, Integer[] stocks, Long[] branchIds);
+
+    @Query(FIND_MAX_ID)
+    Mono<Long> findMaxId();
+
+    @Query(FIND_IDS)
+    Flux<Long> findIds();
 }
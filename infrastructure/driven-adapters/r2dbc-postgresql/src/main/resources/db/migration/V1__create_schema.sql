@@ -0,0 +1,23 @@
+-- Baseline schema. Databases that predate the migrations already hold these tables
+-- and are baselined at V1, so only fresh databases run this script.
+
+CREATE TABLE IF NOT EXISTS franchises (
+    id   BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS branches (
+    id           BIGSERIAL PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    franchise_id BIGINT NOT NULL,
+    CONSTRAINT fk_branches_franchise FOREIGN KEY (franchise_id) REFERENCES franchises (id)
+);
+
+-- Stock may go negative on purpose (adjustments with allowNegative), so it is not constrained here.
+CREATE TABLE IF NOT EXISTS products (
+    id        BIGSERIAL PRIMARY KEY,
+    name      VARCHAR(255) NOT NULL,
+    stock     INTEGER NOT NULL DEFAULT 0,
+    branch_id BIGINT NOT NULL,
+    CONSTRAINT fk_products_branch FOREIGN KEY (branch_id) REFERENCES branches (id)
+);
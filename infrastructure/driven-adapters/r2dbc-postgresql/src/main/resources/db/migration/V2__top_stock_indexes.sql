@@ -0,0 +1,10 @@
+-- Indexes for the top-stock queries over the products and branches tables created by V1__create_schema.
+
+-- Serves the DISTINCT ON (branch_id) ... ORDER BY branch_id, stock DESC, id scan
+-- of the top-stock query straight from the index.
+CREATE INDEX IF NOT EXISTS idx_products_branch_stock_id
+    ON products (branch_id, stock DESC, id);
+
+-- Resolves the branches of a franchise without a sequential scan.
+CREATE INDEX IF NOT EXISTS idx_branches_franchise_id
+    ON branches (franchise_id);
@@ -0,0 +1,10 @@
+-- Keyset pagination (WHERE parent_id = :id AND id > :afterId ORDER BY id LIMIT :limit)
+-- seeks straight to the cursor, so a page costs the same no matter how deep it is.
+CREATE INDEX IF NOT EXISTS idx_branches_franchise_id_id
+    ON branches (franchise_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_products_branch_id_id
+    ON products (branch_id, id);
+
+-- Superseded by idx_branches_franchise_id_id, which serves the same lookups.
+DROP INDEX IF EXISTS idx_branches_franchise_id;
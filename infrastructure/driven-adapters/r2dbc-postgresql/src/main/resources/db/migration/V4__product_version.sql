@@ -0,0 +1,3 @@
+-- Optimistic concurrency: every product write bumps version, conditional stock
+-- updates only apply when the caller still holds the current one.
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
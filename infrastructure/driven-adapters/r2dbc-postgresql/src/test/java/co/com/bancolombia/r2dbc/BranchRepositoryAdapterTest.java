@@ -1,18 +1,26 @@
 package co.com.bancolombia.r2dbc;
 
 import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.r2dbc.adapter.BranchRepositoryAdapter;
 import co.com.bancolombia.r2dbc.entity.BranchEntity;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
 import co.com.bancolombia.r2dbc.repository.BranchReactiveRepository;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -28,6 +36,9 @@ class BranchRepositoryAdapterTest {
     @Mock
     private ObjectMapper mapper;
 
+    @Mock
+    private RowReaderQueries rowQueries;
+
     private BranchRepositoryAdapter adapter;
 
     private Branch branch;
@@ -35,7 +46,7 @@ class BranchRepositoryAdapterTest {
 
     @BeforeEach
     void setUp() {
-        adapter = new BranchRepositoryAdapter(repository, mapper);
+        adapter = new BranchRepositoryAdapter(repository, mapper, rowQueries, IdExistenceFilters.disabled());
 
         branch = Branch.builder()
                 .id(1L)
@@ -52,13 +63,7 @@ class BranchRepositoryAdapterTest {
 
     @Test
     void save_ShouldMapAndSaveBranch() {
-        when(mapper.map(any(Branch.class), eq(BranchEntity.class))).thenReturn(branchEntity);
         when(repository.save(any(BranchEntity.class))).thenReturn(Mono.just(branchEntity));
-        when(mapper.mapBuilder(any(BranchEntity.class), eq(Branch.BranchBuilder.class)))
-                .thenReturn(Branch.builder()
-                        .id(1L)
-                        .name("Test Branch")
-                        .franchiseId(1L));
 
         StepVerifier.create(adapter.save(branch))
                 .expectNextMatches(result ->
@@ -68,15 +73,12 @@ class BranchRepositoryAdapterTest {
                 )
                 .verifyComplete();
 
-        verify(mapper).map(any(Branch.class), eq(BranchEntity.class));
         verify(repository).save(any(BranchEntity.class));
-        verify(mapper).mapBuilder(any(BranchEntity.class), eq(Branch.BranchBuilder.class));
     }
 
     @Test
     void save_WhenRepositoryFails_ShouldPropagateError() {
         RuntimeException exception = new RuntimeException("Database error");
-        when(mapper.map(any(Branch.class), eq(BranchEntity.class))).thenReturn(branchEntity);
         when(repository.save(any(BranchEntity.class))).thenReturn(Mono.error(exception));
 
         StepVerifier.create(adapter.save(branch))
@@ -90,33 +92,79 @@ class BranchRepositoryAdapterTest {
     }
 
     @Test
-    void findById_ShouldMapAndReturnBranch() {
-        when(repository.findById(1L)).thenReturn(Mono.just(branchEntity));
-        when(mapper.mapBuilder(any(BranchEntity.class), eq(Branch.BranchBuilder.class)))
-                .thenReturn(Branch.builder()
-                        .id(1L)
-                        .name("Test Branch")
-                        .franchiseId(1L));
+    void save_WhenForeignKeyIsViolated_ShouldThrowBusinessException() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("insert failed",
+                new R2dbcDataIntegrityViolationException("violates foreign key constraint \"branches_franchise_id_fkey\"", "23503"));
+        when(repository.save(any(BranchEntity.class))).thenReturn(Mono.error(exception));
 
-        StepVerifier.create(adapter.findById(1L))
-                .expectNextMatches(result ->
-                        result.getId().equals(1L) &&
-                                result.getName().equals("Test Branch")
+        StepVerifier.create(adapter.save(branch))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404001
                 )
+                .verify();
+
+        verify(mapper, never()).mapBuilder(any(), any());
+    }
+
+    @Test
+    void save_WhenOtherIntegrityViolation_ShouldPropagateError() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("insert failed",
+                new R2dbcDataIntegrityViolationException("violates not-null constraint", "23502"));
+        when(repository.save(any(BranchEntity.class))).thenReturn(Mono.error(exception));
+
+        StepVerifier.create(adapter.save(branch))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    @Test
+    void findById_ShouldReadRowsWithoutEntities() {
+        when(rowQueries.<Branch>one(eq(BranchReactiveRepository.FIND_BY_ID), any(), eq(param("id", 1L, Long.class))))
+                .thenReturn(Mono.just(branch));
+
+        StepVerifier.create(adapter.findById(1L))
+                .expectNext(branch)
                 .verifyComplete();
 
-        verify(repository).findById(1L);
-        verify(mapper).mapBuilder(any(BranchEntity.class), eq(Branch.BranchBuilder.class));
+        verify(repository, never()).findById(any(Long.class));
     }
 
     @Test
     void findById_WhenNotFound_ShouldReturnEmpty() {
-        when(repository.findById(999L)).thenReturn(Mono.empty());
+        when(rowQueries.<Branch>one(eq(BranchReactiveRepository.FIND_BY_ID), any(),
+                eq(param("id", 999L, Long.class))))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(adapter.findById(999L))
                 .verifyComplete();
 
-        verify(repository).findById(999L);
+        verify(mapper, never()).mapBuilder(any(), any());
+    }
+
+    @Test
+    void updateName_ShouldReturnRenamedBranch() {
+        Branch renamed = branch.toBuilder().name("Renamed Branch").build();
+        when(rowQueries.<Branch>one(eq(BranchReactiveRepository.UPDATE_NAME), any(),
+                eq(param("id", 1L, Long.class)), eq(param("name", "Renamed Branch", String.class))))
+                .thenReturn(Mono.just(renamed));
+
+        StepVerifier.create(adapter.updateName(1L, "Renamed Branch"))
+                .expectNext(renamed)
+                .verifyComplete();
+
+        verify(repository, never()).save(any(BranchEntity.class));
+    }
+
+    @Test
+    void updateName_WhenNotFound_ShouldReturnEmpty() {
+        when(rowQueries.<Branch>one(eq(BranchReactiveRepository.UPDATE_NAME), any(),
+                eq(param("id", 999L, Long.class)), eq(param("name", "Renamed Branch", String.class))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.updateName(999L, "Renamed Branch"))
+                .verifyComplete();
+
         verify(mapper, never()).mapBuilder(any(), any());
     }
 
@@ -138,13 +186,7 @@ class BranchRepositoryAdapterTest {
                 .franchiseId(1L)
                 .build();
 
-        when(mapper.map(any(Branch.class), eq(BranchEntity.class))).thenReturn(newEntity);
-        when(repository.save(any(BranchEntity.class))).thenReturn(Mono.just(savedEntity));
-        when(mapper.mapBuilder(any(BranchEntity.class), eq(Branch.BranchBuilder.class)))
-                .thenReturn(Branch.builder()
-                        .id(2L)
-                        .name("New Branch")
-                        .franchiseId(1L));
+        when(repository.save(newEntity)).thenReturn(Mono.just(savedEntity));
 
         StepVerifier.create(adapter.save(newBranch))
                 .expectNextMatches(result ->
@@ -152,5 +194,21 @@ class BranchRepositoryAdapterTest {
                                 result.getName().equals("New Branch")
                 )
                 .verifyComplete();
+
+        verify(repository).save(newEntity);
+    }
+
+    @Test
+    void findByFranchiseIdAfter_ShouldReadKeysetPage() {
+        when(rowQueries.<Branch>all(eq(BranchReactiveRepository.FIND_BY_FRANCHISE_ID_AFTER), any(),
+                eq(param("franchiseId", 1L, Long.class)), eq(param("afterId", 0L, Long.class)),
+                eq(param("limit", 21, Integer.class))))
+                .thenReturn(Flux.just(branch));
+
+        StepVerifier.create(adapter.findByFranchiseIdAfter(1L, 0L, 21))
+                .expectNext(branch)
+                .verifyComplete();
+
+        verify(repository, never()).findAll();
     }
 }
@@ -3,6 +3,8 @@ package co.com.bancolombia.r2dbc;
 import co.com.bancolombia.model.franchise.Franchise;
 import co.com.bancolombia.r2dbc.adapter.FranchiseRepositoryAdapter;
 import co.com.bancolombia.r2dbc.entity.FranchiseEntity;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
 import co.com.bancolombia.r2dbc.repository.FranchiseReactiveRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.reactivecommons.utils.ObjectMapper;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -28,13 +31,16 @@ class FranchiseRepositoryAdapterTest {
     @Mock
     private ObjectMapper mapper;
 
+    @Mock
+    private RowReaderQueries rowQueries;
+
     private FranchiseRepositoryAdapter adapter;
     private Franchise franchise;
     private FranchiseEntity franchiseEntity;
 
     @BeforeEach
     void setUp() {
-        adapter = new FranchiseRepositoryAdapter(repository, mapper);
+        adapter = new FranchiseRepositoryAdapter(repository, mapper, rowQueries, IdExistenceFilters.disabled());
 
         franchise = Franchise.builder()
                 .id(1L)
@@ -49,10 +55,7 @@ class FranchiseRepositoryAdapterTest {
 
     @Test
     void save_ShouldMapAndSaveFranchise() {
-        when(mapper.map(any(Franchise.class), eq(FranchiseEntity.class))).thenReturn(franchiseEntity);
         when(repository.save(any(FranchiseEntity.class))).thenReturn(Mono.just(franchiseEntity));
-        when(mapper.mapBuilder(any(FranchiseEntity.class), eq(Franchise.FranchiseBuilder.class)))
-                .thenReturn(Franchise.builder().id(1L).name("Test Franchise"));
 
         StepVerifier.create(adapter.save(franchise))
                 .expectNextMatches(result ->
@@ -61,15 +64,12 @@ class FranchiseRepositoryAdapterTest {
                 )
                 .verifyComplete();
 
-        verify(mapper).map(any(Franchise.class), eq(FranchiseEntity.class));
         verify(repository).save(any(FranchiseEntity.class));
-        verify(mapper).mapBuilder(any(FranchiseEntity.class), eq(Franchise.FranchiseBuilder.class));
     }
 
     @Test
     void save_WhenRepositoryFails_ShouldPropagateError() {
         RuntimeException exception = new RuntimeException("Database error");
-        when(mapper.map(any(Franchise.class), eq(FranchiseEntity.class))).thenReturn(franchiseEntity);
         when(repository.save(any(FranchiseEntity.class))).thenReturn(Mono.error(exception));
 
         StepVerifier.create(adapter.save(franchise))
@@ -83,30 +83,52 @@ class FranchiseRepositoryAdapterTest {
     }
 
     @Test
-    void findById_ShouldMapAndReturnFranchise() {
-        when(repository.findById(1L)).thenReturn(Mono.just(franchiseEntity));
-        when(mapper.mapBuilder(any(FranchiseEntity.class), eq(Franchise.FranchiseBuilder.class)))
-                .thenReturn(Franchise.builder().id(1L).name("Test Franchise"));
+    void findById_ShouldReadRowsWithoutEntities() {
+        when(rowQueries.<Franchise>one(eq(FranchiseReactiveRepository.FIND_BY_ID), any(), eq(param("id", 1L, Long.class))))
+                .thenReturn(Mono.just(franchise));
 
         StepVerifier.create(adapter.findById(1L))
-                .expectNextMatches(result ->
-                        result.getId().equals(1L) &&
-                                result.getName().equals("Test Franchise")
-                )
+                .expectNext(franchise)
                 .verifyComplete();
 
-        verify(repository).findById(1L);
-        verify(mapper).mapBuilder(any(FranchiseEntity.class), eq(Franchise.FranchiseBuilder.class));
+        verify(repository, never()).findById(any(Long.class));
     }
 
     @Test
     void findById_WhenNotFound_ShouldReturnEmpty() {
-        when(repository.findById(999L)).thenReturn(Mono.empty());
+        when(rowQueries.<Franchise>one(eq(FranchiseReactiveRepository.FIND_BY_ID), any(),
+                eq(param("id", 999L, Long.class))))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(adapter.findById(999L))
                 .verifyComplete();
 
-        verify(repository).findById(999L);
+        verify(mapper, never()).mapBuilder(any(), any());
+    }
+
+    @Test
+    void updateName_ShouldReturnRenamedFranchise() {
+        Franchise renamed = franchise.toBuilder().name("Renamed Franchise").build();
+        when(rowQueries.<Franchise>one(eq(FranchiseReactiveRepository.UPDATE_NAME), any(),
+                eq(param("id", 1L, Long.class)), eq(param("name", "Renamed Franchise", String.class))))
+                .thenReturn(Mono.just(renamed));
+
+        StepVerifier.create(adapter.updateName(1L, "Renamed Franchise"))
+                .expectNext(renamed)
+                .verifyComplete();
+
+        verify(repository, never()).save(any(FranchiseEntity.class));
+    }
+
+    @Test
+    void updateName_WhenNotFound_ShouldReturnEmpty() {
+        when(rowQueries.<Franchise>one(eq(FranchiseReactiveRepository.UPDATE_NAME), any(),
+                eq(param("id", 999L, Long.class)), eq(param("name", "Renamed Franchise", String.class))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.updateName(999L, "Renamed Franchise"))
+                .verifyComplete();
+
         verify(mapper, never()).mapBuilder(any(), any());
     }
 
@@ -116,10 +138,7 @@ class FranchiseRepositoryAdapterTest {
         FranchiseEntity newEntity = FranchiseEntity.builder().name("New Franchise").build();
         FranchiseEntity savedEntity = FranchiseEntity.builder().id(2L).name("New Franchise").build();
 
-        when(mapper.map(any(Franchise.class), eq(FranchiseEntity.class))).thenReturn(newEntity);
-        when(repository.save(any(FranchiseEntity.class))).thenReturn(Mono.just(savedEntity));
-        when(mapper.mapBuilder(any(FranchiseEntity.class), eq(Franchise.FranchiseBuilder.class)))
-                .thenReturn(Franchise.builder().id(2L).name("New Franchise"));
+        when(repository.save(newEntity)).thenReturn(Mono.just(savedEntity));
 
         StepVerifier.create(adapter.save(newFranchise))
                 .expectNextMatches(result ->
@@ -127,5 +146,7 @@ class FranchiseRepositoryAdapterTest {
                                 result.getName().equals("New Franchise")
                 )
                 .verifyComplete();
+
+        verify(repository).save(newEntity);
     }
 }
@@ -1,19 +1,34 @@
 package co.com.bancolombia.r2dbc;
 
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.exception.BusinessException;
+import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockUpdate;
+import co.com.bancolombia.model.product.ProductWithBranch;
 import co.com.bancolombia.r2dbc.adapter.ProductRepositoryAdapter;
+import co.com.bancolombia.r2dbc.config.BulkOperationsProperties;
 import co.com.bancolombia.r2dbc.entity.ProductEntity;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilter;
+import co.com.bancolombia.r2dbc.helper.IdExistenceFilters;
+import co.com.bancolombia.r2dbc.helper.RowReaderQueries;
 import co.com.bancolombia.r2dbc.repository.ProductReactiveRepository;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.reactivecommons.utils.ObjectMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -30,6 +45,12 @@ class ProductRepositoryAdapterTest {
     @Mock
     private ObjectMapper mapper;
 
+    @Mock
+    private RowReaderQueries rowQueries;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
     private ProductRepositoryAdapter adapter;
 
     private Product product;
@@ -37,7 +58,8 @@ class ProductRepositoryAdapterTest {
 
     @BeforeEach
     void setUp() {
-        adapter = new ProductRepositoryAdapter(repository, mapper);
+        adapter = new ProductRepositoryAdapter(repository, mapper, new BulkOperationsProperties(2),
+                transactionalOperator, rowQueries, IdExistenceFilters.disabled());
 
         product = Product.builder()
                 .id(1L)
@@ -56,14 +78,7 @@ class ProductRepositoryAdapterTest {
 
     @Test
     void save_ShouldMapAndSaveProduct() {
-        when(mapper.map(any(Product.class), eq(ProductEntity.class))).thenReturn(productEntity);
         when(repository.save(any(ProductEntity.class))).thenReturn(Mono.just(productEntity));
-        when(mapper.mapBuilder(any(ProductEntity.class), eq(Product.ProductBuilder.class)))
-                .thenReturn(Product.builder()
-                        .id(1L)
-                        .name("Test Product")
-                        .stock(10)
-                        .branchId(1L));
 
         StepVerifier.create(adapter.save(product))
                 .expectNextMatches(result ->
@@ -74,15 +89,12 @@ class ProductRepositoryAdapterTest {
                 )
                 .verifyComplete();
 
-        verify(mapper).map(any(Product.class), eq(ProductEntity.class));
         verify(repository).save(any(ProductEntity.class));
-        verify(mapper).mapBuilder(any(ProductEntity.class), eq(Product.ProductBuilder.class));
     }
 
     @Test
     void save_WhenRepositoryFails_ShouldPropagateError() {
         RuntimeException exception = new RuntimeException("Database error");
-        when(mapper.map(any(Product.class), eq(ProductEntity.class))).thenReturn(productEntity);
         when(repository.save(any(ProductEntity.class))).thenReturn(Mono.error(exception));
 
         StepVerifier.create(adapter.save(product))
@@ -96,35 +108,53 @@ class ProductRepositoryAdapterTest {
     }
 
     @Test
-    void findById_ShouldMapAndReturnProduct() {
-        when(repository.findById(1L)).thenReturn(Mono.just(productEntity));
-        when(mapper.mapBuilder(any(ProductEntity.class), eq(Product.ProductBuilder.class)))
-                .thenReturn(Product.builder()
-                        .id(1L)
-                        .name("Test Product")
-                        .stock(10)
-                        .branchId(1L));
+    void save_WhenForeignKeyIsViolated_ShouldThrowBusinessException() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("insert failed",
+                new R2dbcDataIntegrityViolationException("violates foreign key constraint \"products_branch_id_fkey\"", "23503"));
+        when(repository.save(any(ProductEntity.class))).thenReturn(Mono.error(exception));
 
-        StepVerifier.create(adapter.findById(1L))
-                .expectNextMatches(result ->
-                        result.getId().equals(1L) &&
-                                result.getName().equals("Test Product") &&
-                                result.getStock().equals(10)
+        StepVerifier.create(adapter.save(product))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404002
                 )
+                .verify();
+
+        verify(mapper, never()).mapBuilder(any(), any());
+    }
+
+    @Test
+    void save_WhenOtherIntegrityViolation_ShouldPropagateError() {
+        DataIntegrityViolationException exception = new DataIntegrityViolationException("insert failed",
+                new R2dbcDataIntegrityViolationException("violates not-null constraint", "23502"));
+        when(repository.save(any(ProductEntity.class))).thenReturn(Mono.error(exception));
+
+        StepVerifier.create(adapter.save(product))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    @Test
+    void findById_ShouldReadRowsWithoutEntities() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.FIND_BY_ID), any(), eq(param("id", 1L, Long.class))))
+                .thenReturn(Mono.just(product));
+
+        StepVerifier.create(adapter.findById(1L))
+                .expectNext(product)
                 .verifyComplete();
 
-        verify(repository).findById(1L);
-        verify(mapper).mapBuilder(any(ProductEntity.class), eq(Product.ProductBuilder.class));
+        verify(repository, never()).findById(any(Long.class));
     }
 
     @Test
     void findById_WhenNotFound_ShouldReturnEmpty() {
-        when(repository.findById(999L)).thenReturn(Mono.empty());
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.FIND_BY_ID), any(),
+                eq(param("id", 999L, Long.class))))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(adapter.findById(999L))
                 .verifyComplete();
 
-        verify(repository).findById(999L);
         verify(mapper, never()).mapBuilder(any(), any());
     }
 
@@ -149,14 +179,7 @@ class ProductRepositoryAdapterTest {
                 .branchId(1L)
                 .build();
 
-        when(mapper.map(any(Product.class), eq(ProductEntity.class))).thenReturn(newEntity);
-        when(repository.save(any(ProductEntity.class))).thenReturn(Mono.just(savedEntity));
-        when(mapper.mapBuilder(any(ProductEntity.class), eq(Product.ProductBuilder.class)))
-                .thenReturn(Product.builder()
-                        .id(2L)
-                        .name("New Product")
-                        .stock(5)
-                        .branchId(1L));
+        when(repository.save(newEntity)).thenReturn(Mono.just(savedEntity));
 
         StepVerifier.create(adapter.save(newProduct))
                 .expectNextMatches(result ->
@@ -165,22 +188,41 @@ class ProductRepositoryAdapterTest {
                                 result.getStock().equals(5)
                 )
                 .verifyComplete();
+
+        verify(repository).save(newEntity);
     }
 
     @Test
-    void deleteById_ShouldDeleteProduct() {
-        when(repository.deleteById(1L)).thenReturn(Mono.empty());
+    void deleteById_ShouldReturnDeletedProduct() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.DELETE_RETURNING_BY_ID), any(),
+                eq(param("id", 1L, Long.class))))
+                .thenReturn(Mono.just(product));
 
         StepVerifier.create(adapter.deleteById(1L))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(repository, never()).deleteById(any(Long.class));
+    }
+
+    @Test
+    void deleteById_WhenNotFound_ShouldReturnEmpty() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.DELETE_RETURNING_BY_ID), any(),
+                eq(param("id", 999L, Long.class))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.deleteById(999L))
                 .verifyComplete();
 
-        verify(repository).deleteById(1L);
+        verify(mapper, never()).mapBuilder(any(), any());
     }
 
     @Test
     void deleteById_WhenRepositoryFails_ShouldPropagateError() {
         RuntimeException exception = new RuntimeException("Database error");
-        when(repository.deleteById(1L)).thenReturn(Mono.error(exception));
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.DELETE_RETURNING_BY_ID), any(),
+                eq(param("id", 1L, Long.class))))
+                .thenReturn(Mono.error(exception));
 
         StepVerifier.create(adapter.deleteById(1L))
                 .expectErrorMatches(error ->
@@ -188,81 +230,307 @@ class ProductRepositoryAdapterTest {
                                 error.getMessage().equals("Database error")
                 )
                 .verify();
+    }
 
-        verify(repository).deleteById(1L);
+    @Test
+    void updateName_ShouldReturnRenamedProduct() {
+        Product renamed = product.toBuilder().name("Renamed Product").build();
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.UPDATE_NAME), any(),
+                eq(param("id", 1L, Long.class)), eq(param("name", "Renamed Product", String.class))))
+                .thenReturn(Mono.just(renamed));
+
+        StepVerifier.create(adapter.updateName(1L, "Renamed Product"))
+                .expectNext(renamed)
+                .verifyComplete();
+
+        verify(repository, never()).save(any(ProductEntity.class));
     }
 
     @Test
-    void findTopStockByBranchesInFranchise_ShouldMapAndReturnProducts() {
-        Long franchiseId = 1L;
-        ProductEntity product2Entity = ProductEntity.builder()
-                .id(2L)
-                .name("Product 2")
-                .stock(20)
-                .branchId(2L)
-                .build();
+    void updateName_WhenNotFound_ShouldReturnEmpty() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.UPDATE_NAME), any(),
+                eq(param("id", 999L, Long.class)), eq(param("name", "Renamed Product", String.class))))
+                .thenReturn(Mono.empty());
 
-        when(repository.findTopStockProductsByFranchise(franchiseId))
-                .thenReturn(Flux.just(productEntity, product2Entity));
-        when(mapper.mapBuilder(productEntity, Product.ProductBuilder.class))
-                .thenReturn(Product.builder()
-                        .id(1L)
-                        .name("Test Product")
-                        .stock(10)
-                        .branchId(1L));
-        when(mapper.mapBuilder(product2Entity, Product.ProductBuilder.class))
-                .thenReturn(Product.builder()
-                        .id(2L)
-                        .name("Product 2")
-                        .stock(20)
-                        .branchId(2L));
-
-        StepVerifier.create(adapter.findTopStockByBranchesInFranchise(franchiseId))
-                .expectNextMatches(result ->
-                        result.getId().equals(1L) &&
-                                result.getName().equals("Test Product") &&
-                                result.getStock().equals(10)
-                )
-                .expectNextMatches(result ->
-                        result.getId().equals(2L) &&
-                                result.getName().equals("Product 2") &&
-                                result.getStock().equals(20)
-                )
+        StepVerifier.create(adapter.updateName(999L, "Renamed Product"))
                 .verifyComplete();
 
-        verify(repository).findTopStockProductsByFranchise(franchiseId);
-        verify(mapper, times(2)).mapBuilder(any(ProductEntity.class), eq(Product.ProductBuilder.class));
+        verify(mapper, never()).mapBuilder(any(), any());
     }
 
     @Test
-    void findTopStockByBranchesInFranchise_WhenNoProducts_ShouldReturnEmpty() {
-        Long franchiseId = 999L;
-        when(repository.findTopStockProductsByFranchise(franchiseId))
-                .thenReturn(Flux.empty());
+    void updateStock_ShouldReturnUpdatedProduct() {
+        Product updated = product.toBuilder().stock(25).build();
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.UPDATE_STOCK), any(),
+                eq(param("id", 1L, Long.class)), eq(param("stock", 25, Integer.class))))
+                .thenReturn(Mono.just(updated));
+
+        StepVerifier.create(adapter.updateStock(1L, 25))
+                .expectNext(updated)
+                .verifyComplete();
+
+        verify(repository, never()).findById(any(Long.class));
+        verify(repository, never()).save(any(ProductEntity.class));
+    }
+
+    @Test
+    void updateStock_WhenNotFound_ShouldReturnEmpty() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.UPDATE_STOCK), any(),
+                eq(param("id", 999L, Long.class)), eq(param("stock", 25, Integer.class))))
+                .thenReturn(Mono.empty());
 
-        StepVerifier.create(adapter.findTopStockByBranchesInFranchise(franchiseId))
+        StepVerifier.create(adapter.updateStock(999L, 25))
                 .verifyComplete();
 
-        verify(repository).findTopStockProductsByFranchise(franchiseId);
         verify(mapper, never()).mapBuilder(any(), any());
     }
 
     @Test
-    void findTopStockByBranchesInFranchise_WhenRepositoryFails_ShouldPropagateError() {
-        Long franchiseId = 1L;
-        RuntimeException exception = new RuntimeException("Database error");
+    void updateStockWithVersion_ShouldUpdateOnlyMatchingVersion() {
+        Product updated = product.toBuilder().stock(25).version(4L).build();
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.UPDATE_STOCK_IF_VERSION), any(),
+                eq(param("id", 1L, Long.class)), eq(param("stock", 25, Integer.class)),
+                eq(param("version", 3L, Long.class))))
+                .thenReturn(Mono.just(updated));
+
+        StepVerifier.create(adapter.updateStock(1L, 25, 3L))
+                .expectNext(updated)
+                .verifyComplete();
+    }
 
-        when(repository.findTopStockProductsByFranchise(franchiseId))
-                .thenReturn(Flux.error(exception));
+    @Test
+    void updateStockWithVersion_WhenVersionIsStale_ShouldReturnEmpty() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.UPDATE_STOCK_IF_VERSION), any(),
+                eq(param("id", 1L, Long.class)), eq(param("stock", 25, Integer.class)),
+                eq(param("version", 2L, Long.class))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.updateStock(1L, 25, 2L))
+                .verifyComplete();
+    }
+
+    @Test
+    void adjustStock_ShouldBindEveryParameter() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.ADJUST_STOCK), any(),
+                eq(param("id", 1L, Long.class)), eq(param("delta", -3, Integer.class)),
+                eq(param("allowNegative", false, Boolean.class))))
+                .thenReturn(Mono.just(product));
+
+        StepVerifier.create(adapter.adjustStock(1L, -3, false))
+                .expectNext(product)
+                .verifyComplete();
+    }
 
-        StepVerifier.create(adapter.findTopStockByBranchesInFranchise(franchiseId))
+    @Test
+    void adjustStock_WhenRejected_ShouldReturnEmpty() {
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.ADJUST_STOCK), any(),
+                eq(param("id", 1L, Long.class)), eq(param("delta", -30, Integer.class)),
+                eq(param("allowNegative", false, Boolean.class))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.adjustStock(1L, -30, false))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateStocks_ShouldSendOneStatementPerChunk() {
+        ProductEntity updated1 = ProductEntity.builder().id(1L).name("A").stock(10).branchId(1L).version(2L).build();
+        ProductEntity updated2 = ProductEntity.builder().id(2L).name("B").stock(20).branchId(1L).version(5L).build();
+        when(repository.updateStocks(new Long[]{1L, 2L}, new Integer[]{10, 20}))
+                .thenReturn(Flux.just(updated1, updated2));
+        when(repository.updateStocks(new Long[]{3L}, new Integer[]{30}))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(adapter.updateStocks(Flux.just(
+                        new ProductStockUpdate(1L, 10),
+                        new ProductStockUpdate(2L, 20),
+                        new ProductStockUpdate(3L, 30))))
+                .expectNextMatches(result -> result.getId().equals(1L) && result.getVersion().equals(2L))
+                .expectNextMatches(result -> result.getId().equals(2L) && result.getBranchId().equals(1L))
+                .verifyComplete();
+
+        verify(repository, times(2)).updateStocks(any(Long[].class), any(Integer[].class));
+    }
+
+    @Test
+    void updateStocks_WhenChunkRepeatsId_ShouldKeepLastValue() {
+        when(repository.updateStocks(new Long[]{1L}, new Integer[]{15}))
+                .thenReturn(Flux.just(ProductEntity.builder().id(1L).name("Test Product").stock(15).branchId(1L).build()));
+
+        StepVerifier.create(adapter.updateStocks(Flux.just(
+                        new ProductStockUpdate(1L, 10),
+                        new ProductStockUpdate(1L, 15))))
+                .expectNextMatches(result -> result.getStock().equals(15))
+                .verifyComplete();
+    }
+
+    @Test
+    void insertAll_ShouldSendOneMultiRowInsertPerChunk() {
+        ProductEntity saved1 = ProductEntity.builder().id(1L).name("A").stock(1).branchId(1L).build();
+        ProductEntity saved2 = ProductEntity.builder().id(2L).name("B").stock(2).branchId(1L).build();
+        ProductEntity saved3 = ProductEntity.builder().id(3L).name("C").stock(3).branchId(2L).build();
+        when(repository.insertAll(new String[]{"A", "B"}, new Integer[]{1, 2}, new Long[]{1L, 1L}))
+                .thenReturn(Flux.just(saved1, saved2));
+        when(repository.insertAll(new String[]{"C"}, new Integer[]{3}, new Long[]{2L}))
+                .thenReturn(Flux.just(saved3));
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(adapter.insertAll(Flux.just(
+                        Product.builder().name("A").stock(1).branchId(1L).build(),
+                        Product.builder().name("B").stock(2).branchId(1L).build(),
+                        Product.builder().name("C").stock(3).branchId(2L).build())))
+                .expectNextMatches(result -> result.getId().equals(1L))
+                .expectNextMatches(result -> result.getId().equals(2L))
+                .expectNextMatches(result -> result.getId().equals(3L))
+                .verifyComplete();
+
+        verify(repository, times(2)).insertAll(any(String[].class), any(Integer[].class), any(Long[].class));
+        verify(transactionalOperator, times(2)).transactional(any(Mono.class));
+    }
+
+    @Test
+    void insertAll_WhenALaterChunkFails_ShouldKeepTheCommittedChunks() {
+        ProductEntity saved1 = ProductEntity.builder().id(1L).name("A").stock(1).branchId(1L).build();
+        ProductEntity saved2 = ProductEntity.builder().id(2L).name("B").stock(2).branchId(1L).build();
+        when(repository.insertAll(new String[]{"A", "B"}, new Integer[]{1, 2}, new Long[]{1L, 1L}))
+                .thenReturn(Flux.just(saved1, saved2));
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(adapter.insertAll(Flux.just(
+                                Product.builder().name("A").stock(1).branchId(1L).build(),
+                                Product.builder().name("B").stock(2).branchId(1L).build(),
+                                Product.builder().name("C").stock(3).branchId(1L).build())
+                        .concatWith(Flux.error(new BusinessException(ErrorCode.B404002)))))
+                .expectNextMatches(result -> result.getId().equals(1L))
+                .expectNextMatches(result -> result.getId().equals(2L))
+                .expectError(BusinessException.class)
+                .verify();
+
+        verify(repository, times(1)).insertAll(any(String[].class), any(Integer[].class), any(Long[].class));
+    }
+
+    @Test
+    void insertAll_WhenAChunkFails_ShouldEmitNoneOfItsRows() {
+        ProductEntity saved1 = ProductEntity.builder().id(1L).name("A").stock(1).branchId(1L).build();
+        when(repository.insertAll(new String[]{"A", "B"}, new Integer[]{1, 2}, new Long[]{1L, 9L}))
+                .thenReturn(Flux.just(saved1).concatWith(Flux.error(new RuntimeException("FK violation"))));
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StepVerifier.create(adapter.insertAll(Flux.just(
+                        Product.builder().name("A").stock(1).branchId(1L).build(),
+                        Product.builder().name("B").stock(2).branchId(9L).build())))
+                .expectErrorMatches(error -> error.getMessage().equals("FK violation"))
+                .verify();
+    }
+
+    @Test
+    void findTopStockWithBranchByFranchise_ShouldSkipFranchiseWithoutProducts() {
+        ProductWithBranch top = ProductWithBranch.builder()
+                .product(product)
+                .branch(Branch.builder().id(1L).name("Test Branch").franchiseId(1L).build())
+                .build();
+        ProductWithBranch emptyFranchise = ProductWithBranch.builder()
+                .product(Product.builder().build())
+                .branch(Branch.builder().franchiseId(1L).build())
+                .build();
+        when(rowQueries.<ProductWithBranch>all(
+                eq(ProductReactiveRepository.FIND_TOP_STOCK_PRODUCTS_WITH_BRANCH_BY_FRANCHISE), any(),
+                eq(param("franchiseId", 1L, Long.class))))
+                .thenReturn(Flux.just(top, emptyFranchise));
+
+        StepVerifier.create(adapter.findTopStockWithBranchByFranchise(1L))
+                .expectNext(top)
+                .verifyComplete();
+
+        verify(mapper, never()).mapBuilder(any(), any());
+    }
+
+    @Test
+    void findTopStockWithBranchByFranchise_WhenFranchiseNotFound_ShouldThrowBusinessException() {
+        when(rowQueries.<ProductWithBranch>all(
+                eq(ProductReactiveRepository.FIND_TOP_STOCK_PRODUCTS_WITH_BRANCH_BY_FRANCHISE), any(),
+                eq(param("franchiseId", 999L, Long.class))))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(adapter.findTopStockWithBranchByFranchise(999L))
                 .expectErrorMatches(error ->
-                        error instanceof RuntimeException &&
-                                error.getMessage().equals("Database error")
+                        error instanceof BusinessException &&
+                                ((BusinessException) error).getErrorCode() == ErrorCode.B404001
                 )
                 .verify();
+    }
+
+    @Test
+    void findByBranchIdAfter_ShouldReadKeysetPage() {
+        when(rowQueries.<Product>all(eq(ProductReactiveRepository.FIND_BY_BRANCH_ID_AFTER), any(),
+                eq(param("branchId", 1L, Long.class)), eq(param("afterId", 0L, Long.class)),
+                eq(param("limit", 21, Integer.class))))
+                .thenReturn(Flux.just(product));
+
+        StepVerifier.create(adapter.findByBranchIdAfter(1L, 0L, 21))
+                .expectNext(product)
+                .verifyComplete();
+
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void findById_WhenTheFilterHasNotSeenTheId_ShouldConfirmOnThePrimaryAndRememberTheMiss() {
+        ProductRepositoryAdapter guardedAdapter = new ProductRepositoryAdapter(repository, mapper,
+                new BulkOperationsProperties(2), transactionalOperator, rowQueries, loadedFilters());
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.FIND_BY_ID), any(),
+                eq(param("id", 3L, Long.class))))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(guardedAdapter.findById(3L).then(guardedAdapter.findById(3L)))
+                .verifyComplete();
+
+        verify(rowQueries, times(1)).one(eq(ProductReactiveRepository.FIND_BY_ID), any(),
+                eq(param("id", 3L, Long.class)));
+    }
+
+    @Test
+    void findById_WhenTheIdCommittedAfterTheScan_ShouldFindIt() {
+        ProductRepositoryAdapter guardedAdapter = new ProductRepositoryAdapter(repository, mapper,
+                new BulkOperationsProperties(2), transactionalOperator, rowQueries, loadedFilters());
+        Product lateCommit = product.toBuilder().id(4L).build();
+        when(rowQueries.<Product>one(eq(ProductReactiveRepository.FIND_BY_ID), any(),
+                eq(param("id", 4L, Long.class))))
+                .thenReturn(Mono.just(lateCommit));
+
+        StepVerifier.create(guardedAdapter.findById(4L))
+                .expectNext(lateCommit)
+                .verifyComplete();
+    }
+
+    @Test
+    void save_WhenBranchIsKnownMissing_ShouldFailWithoutQuerying() {
+        IdExistenceFilters filters = loadedFilters();
+        filters.branches().recordMiss(4L);
+        ProductRepositoryAdapter guardedAdapter = new ProductRepositoryAdapter(repository, mapper,
+                new BulkOperationsProperties(2), transactionalOperator, rowQueries, filters);
+        Product orphan = product.toBuilder().id(null).branchId(4L).build();
+
+        StepVerifier.create(guardedAdapter.save(orphan))
+                .expectErrorMatches(error -> error instanceof BusinessException business
+                        && business.getErrorCode() == ErrorCode.B404002)
+                .verify();
+
+        verify(repository, never()).save(any(ProductEntity.class));
+    }
 
-        verify(repository).findTopStockProductsByFranchise(franchiseId);
+    private static IdExistenceFilters loadedFilters() {
+        IdExistenceFilters filters = new IdExistenceFilters(filter(), filter(), filter());
+        filters.franchises().rebuild(Mono.just(10L), () -> Flux.just(1L, 2L, 10L)).block();
+        filters.branches().rebuild(Mono.just(10L), () -> Flux.just(1L, 2L, 10L)).block();
+        filters.products().rebuild(Mono.just(10L), () -> Flux.just(1L, 2L, 10L)).block();
+        return filters;
     }
 
+    private static IdExistenceFilter filter() {
+        return new IdExistenceFilter(0.001, 100, Duration.ofSeconds(5));
+    }
 }
@@ -0,0 +1,77 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedBranchRepositoryTest {
+
+    @Mock
+    private BranchRepository delegate;
+
+    private ReactiveLookupCache<Branch> cache;
+    private CachedBranchRepository repository;
+
+    private Branch branch;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReactiveLookupCache<>(100, Duration.ofMinutes(10), value -> value.toBuilder().build());
+        repository = new CachedBranchRepository(delegate, cache);
+
+        branch = Branch.builder()
+                .id(1L)
+                .name("Test Branch")
+                .franchiseId(1L)
+                .build();
+    }
+
+    @Test
+    void findById_ShouldLoadOnceAndServeHitsFromCache() {
+        when(delegate.findById(1L)).thenReturn(Mono.just(branch));
+
+        StepVerifier.create(repository.findById(1L).then(repository.findById(1L)))
+                .expectNextMatches(result -> result.getName().equals("Test Branch"))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateName_WhenDelegateFails_ShouldEvictTheEntry() {
+        cache.put(1L, branch);
+        when(delegate.updateName(1L, "Renamed Branch")).thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(repository.updateName(1L, "Renamed Branch"))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        assertEquals(0, cache.synchronous().estimatedSize());
+    }
+
+    @Test
+    void findByFranchiseIdAfter_ShouldBypassTheCache() {
+        when(delegate.findByFranchiseIdAfter(1L, 0L, 21)).thenReturn(Flux.just(branch));
+
+        StepVerifier.create(repository.findByFranchiseIdAfter(1L, 0L, 21))
+                .expectNext(branch)
+                .verifyComplete();
+
+        assertEquals(0, cache.synchronous().estimatedSize());
+    }
+}
@@ -0,0 +1,114 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.franchise.gateways.FranchiseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedFranchiseRepositoryTest {
+
+    @Mock
+    private FranchiseRepository delegate;
+
+    private ReactiveLookupCache<Franchise> cache;
+    private CachedFranchiseRepository repository;
+
+    private Franchise franchise;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReactiveLookupCache<>(100, Duration.ofMinutes(10), value -> value.toBuilder().build());
+        repository = new CachedFranchiseRepository(delegate, cache);
+
+        franchise = Franchise.builder()
+                .id(1L)
+                .name("Test Franchise")
+                .build();
+    }
+
+    @Test
+    void findById_ShouldLoadOnceAndServeHitsFromCache() {
+        when(delegate.findById(1L)).thenReturn(Mono.just(franchise));
+
+        StepVerifier.create(repository.findById(1L))
+                .expectNextMatches(result -> result.getName().equals("Test Franchise"))
+                .verifyComplete();
+        StepVerifier.create(repository.findById(1L))
+                .expectNextMatches(result -> result.getName().equals("Test Franchise"))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1, cache.synchronous().stats().hitCount());
+        assertEquals(1, cache.synchronous().stats().missCount());
+    }
+
+    @Test
+    void findById_WhenNotFound_ShouldNotCacheTheMiss() {
+        when(delegate.findById(999L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findById(999L)).verifyComplete();
+        StepVerifier.create(repository.findById(999L)).verifyComplete();
+
+        verify(delegate, times(2)).findById(999L);
+    }
+
+    @Test
+    void findById_ShouldHandOutCopiesOfTheCachedValue() {
+        when(delegate.findById(1L)).thenReturn(Mono.just(franchise));
+
+        repository.findById(1L).block().setName("Mutated");
+
+        StepVerifier.create(repository.findById(1L))
+                .expectNextMatches(result -> result.getName().equals("Test Franchise"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateName_ShouldWriteThroughTheNewName() {
+        Franchise renamed = franchise.toBuilder().name("Renamed Franchise").build();
+        when(delegate.findById(1L)).thenReturn(Mono.just(franchise));
+        when(delegate.updateName(1L, "Renamed Franchise")).thenReturn(Mono.just(renamed));
+
+        StepVerifier.create(repository.findById(1L)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.updateName(1L, "Renamed Franchise")).expectNext(renamed).verifyComplete();
+
+        StepVerifier.create(repository.findById(1L))
+                .expectNextMatches(result -> result.getName().equals("Renamed Franchise"))
+                .verifyComplete();
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateName_WhenFranchiseMissing_ShouldEvictTheEntry() {
+        cache.put(1L, franchise);
+        when(delegate.updateName(1L, "Renamed Franchise")).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.updateName(1L, "Renamed Franchise")).verifyComplete();
+
+        assertEquals(0, cache.synchronous().estimatedSize());
+    }
+
+    @Test
+    void save_ShouldPopulateTheCache() {
+        when(delegate.save(franchise)).thenReturn(Mono.just(franchise));
+
+        StepVerifier.create(repository.save(franchise)).expectNext(franchise).verifyComplete();
+        StepVerifier.create(repository.findById(1L)).expectNextCount(1).verifyComplete();
+
+        verify(delegate, never()).findById(1L);
+    }
+}
@@ -0,0 +1,146 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineTopStockProductsCacheTest {
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    private ReactiveLookupCache<TopStockProducts> cache;
+    private CaffeineTopStockProductsCache topStockCache;
+
+    private ProductWithBranch productWithBranch;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReactiveLookupCache<>(100, Duration.ofSeconds(30),
+                snapshot -> snapshot.toBuilder().products(List.copyOf(snapshot.getProducts())).build());
+        topStockCache = new CaffeineTopStockProductsCache(cache, branchRepository);
+
+        Branch branch = Branch.builder()
+                .id(1L)
+                .name("Test Branch")
+                .franchiseId(1L)
+                .build();
+        productWithBranch = ProductWithBranch.builder()
+                .product(Product.builder().id(1L).name("Test Product").stock(10).branchId(1L).build())
+                .branch(branch)
+                .build();
+        loads = new AtomicInteger();
+    }
+
+    private Flux<ProductWithBranch> loader() {
+        return Flux.defer(() -> {
+            loads.incrementAndGet();
+            return Flux.just(productWithBranch);
+        });
+    }
+
+    @Test
+    void getOrLoad_ShouldLoadOncePerFranchise() {
+        StepVerifier.create(topStockCache.getOrLoad(1L, loader())
+                        .then(topStockCache.getOrLoad(1L, loader())))
+                .expectNextMatches(result -> result.getProducts().equals(List.of(productWithBranch)))
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void currentVersion_ShouldMatchTheCachedResultWithoutLoading() {
+        StepVerifier.create(topStockCache.currentVersion(1L))
+                .verifyComplete();
+
+        String version = topStockCache.getOrLoad(1L, loader()).block().getVersion();
+
+        StepVerifier.create(topStockCache.currentVersion(1L))
+                .expectNext(version)
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getIfPresent_ShouldNeverLoad() {
+        StepVerifier.create(topStockCache.getIfPresent(1L))
+                .verifyComplete();
+
+        topStockCache.getOrLoad(1L, loader()).block();
+
+        StepVerifier.create(topStockCache.getIfPresent(1L))
+                .expectNextMatches(result -> result.getProducts().equals(List.of(productWithBranch)))
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictByBranch_ShouldReloadTheFranchiseOfTheBranch() {
+        when(branchRepository.findById(1L)).thenReturn(Mono.just(productWithBranch.getBranch()));
+
+        String version = topStockCache.getOrLoad(1L, loader()).block().getVersion();
+
+        StepVerifier.create(topStockCache.evictByBranch(1L)
+                        .then(topStockCache.getOrLoad(1L, loader())))
+                .expectNextMatches(result -> result.getVersion().equals(version))
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getOrLoad_ShouldVersionByPayload() {
+        String version = topStockCache.getOrLoad(1L, loader()).block().getVersion();
+        ProductWithBranch restocked = ProductWithBranch.builder()
+                .product(productWithBranch.getProduct().toBuilder().stock(99).build())
+                .branch(productWithBranch.getBranch())
+                .build();
+
+        StepVerifier.create(topStockCache.evictAll()
+                        .then(topStockCache.getOrLoad(1L, Flux.just(restocked))))
+                .expectNextMatches(result -> !result.getVersion().equals(version))
+                .verifyComplete();
+        assertEquals(version, TopStockProducts.of(List.of(productWithBranch)).getVersion());
+    }
+
+    @Test
+    void evictByBranch_WhenBranchNotFound_ShouldKeepTheEntries() {
+        when(branchRepository.findById(99L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(topStockCache.getOrLoad(1L, loader())
+                        .then(topStockCache.evictByBranch(99L)))
+                .verifyComplete();
+
+        assertEquals(1, cache.synchronous().estimatedSize());
+    }
+
+    @Test
+    void evictAll_ShouldDropEveryFranchise() {
+        StepVerifier.create(topStockCache.getOrLoad(1L, loader())
+                        .then(topStockCache.getOrLoad(2L, loader()))
+                        .then(topStockCache.evictAll()))
+                .verifyComplete();
+
+        assertEquals(0, cache.synchronous().estimatedSize());
+    }
+}
@@ -0,0 +1,87 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.gateways.ProductRepository;
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightProductRepositoryTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private SingleFlightProductRepository repository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        repository = new SingleFlightProductRepository(delegate, new SingleFlight<>(10));
+
+        product = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(10)
+                .branchId(1L)
+                .build();
+    }
+
+    @Test
+    void findTopStockWithBranchByFranchise_ShouldCoalesceConcurrentCalls() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        ProductWithBranch productWithBranch = ProductWithBranch.builder().product(product).build();
+        when(delegate.findTopStockWithBranchByFranchise(1L))
+                .thenReturn(gate.asMono().thenMany(Flux.just(productWithBranch)));
+
+        StepVerifier.create(Flux.merge(
+                        repository.findTopStockWithBranchByFranchise(1L),
+                        repository.findTopStockWithBranchByFranchise(1L)))
+                .then(gate::tryEmitEmpty)
+                .expectNext(productWithBranch, productWithBranch)
+                .verifyComplete();
+
+        verify(delegate, times(1)).findTopStockWithBranchByFranchise(1L);
+    }
+
+    @Test
+    void findTopStockWithBranchByFranchise_AfterAWriteInTheSession_ShouldNotJoinASharedLoad() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        ProductWithBranch productWithBranch = ProductWithBranch.builder().product(product).build();
+        when(delegate.findTopStockWithBranchByFranchise(1L))
+                .thenReturn(gate.asMono().thenMany(Flux.just(productWithBranch)));
+        Flux<ProductWithBranch> readAfterWrite = Mono.deferContextual(context ->
+                        Mono.just(ConnectionRouting.route(context, true)))
+                .thenMany(repository.findTopStockWithBranchByFranchise(1L))
+                .contextWrite(ConnectionRouting::withSession);
+
+        StepVerifier.create(Flux.merge(repository.findTopStockWithBranchByFranchise(1L), readAfterWrite))
+                .then(gate::tryEmitEmpty)
+                .expectNext(productWithBranch, productWithBranch)
+                .verifyComplete();
+
+        verify(delegate, times(2)).findTopStockWithBranchByFranchise(1L);
+    }
+
+    @Test
+    void updateStock_ShouldDelegate() {
+        when(delegate.updateStock(1L, 20)).thenReturn(Mono.just(product));
+
+        StepVerifier.create(repository.updateStock(1L, 20))
+                .expectNext(product)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,115 @@
+package co.com.bancolombia.r2dbc.cache;
+
+import co.com.bancolombia.r2dbc.config.SingleFlightMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SingleFlightTest {
+
+    private SingleFlight<Long, Integer> singleFlight;
+    private Sinks.Empty<Void> gate;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>(2);
+        gate = Sinks.empty();
+        loads = new AtomicInteger();
+    }
+
+    private Flux<Integer> load(Long key) {
+        loads.incrementAndGet();
+        return gate.asMono().thenMany(Flux.just(1, 2));
+    }
+
+    @Test
+    void execute_ShouldShareOneLoadAmongConcurrentCallers() {
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute(1L, this::load),
+                        singleFlight.execute(1L, this::load),
+                        singleFlight.execute(1L, this::load)))
+                .then(gate::tryEmitEmpty)
+                .expectNextCount(6)
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, singleFlight.led());
+        assertEquals(2, singleFlight.coalesced());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_ShouldNotKeepResultsOnceTheLoadCompletes() {
+        gate.tryEmitEmpty();
+
+        StepVerifier.create(singleFlight.execute(1L, this::load)
+                        .thenMany(singleFlight.execute(1L, this::load)))
+                .expectNext(1, 2)
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+        assertEquals(0, singleFlight.coalesced());
+    }
+
+    @Test
+    void execute_WhenLimitReached_ShouldRunUncoalesced() {
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute(1L, this::load),
+                        singleFlight.execute(2L, this::load),
+                        singleFlight.execute(3L, this::load)))
+                .then(gate::tryEmitEmpty)
+                .expectNextCount(6)
+                .verifyComplete();
+
+        assertEquals(3, loads.get());
+        assertEquals(1, singleFlight.bypassed());
+    }
+
+    @Test
+    void bypass_ShouldNeitherJoinNorLeadASharedLoad() {
+        StepVerifier.create(Flux.merge(
+                        singleFlight.execute(1L, this::load),
+                        singleFlight.bypass(1L, this::load),
+                        singleFlight.execute(1L, this::load)))
+                .then(gate::tryEmitEmpty)
+                .expectNextCount(6)
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+        assertEquals(1, singleFlight.coalesced());
+        assertEquals(1, singleFlight.bypassed());
+    }
+
+    @Test
+    void execute_WhenLoadFails_ShouldReleaseTheKey() {
+        StepVerifier.create(singleFlight.execute(1L, _ -> Flux.<Integer>error(new RuntimeException("Database error"))))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void metrics_ShouldReportCoalescedCalls() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new SingleFlightMetrics(singleFlight, "top-stock").bindTo(registry);
+
+        StepVerifier.create(Flux.merge(singleFlight.execute(1L, this::load), singleFlight.execute(1L, this::load)))
+                .then(gate::tryEmitEmpty)
+                .expectNextCount(4)
+                .verifyComplete();
+
+        assertEquals(1, registry.get("r2dbc.singleflight.calls")
+                .tag("name", "top-stock").tag("outcome", "led").functionCounter().count());
+        assertEquals(1, registry.get("r2dbc.singleflight.calls").tag("outcome", "coalesced").functionCounter().count());
+        assertEquals(0, registry.get("r2dbc.singleflight.in.flight").gauge().value());
+    }
+}
@@ -0,0 +1,50 @@
+package co.com.bancolombia.r2dbc.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConnectionPoolMetricsTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PostgreSQLConnectionPool.class, ReplicaConnectionPool.class)
+            .withBean(PostgresqlConnectionProperties.class, () -> new PostgresqlConnectionProperties(
+                    "localhost", 5432, "dbName", "schema", "username", "password", null, null))
+            .withBean(ReplicaConnectionProperties.class, () -> new ReplicaConnectionProperties(
+                    true, "replica", null, null, null, null, null, true));
+
+    @Test
+    void poolMetricsShouldCoverPrimaryAndReplicaBehindTheRoutingFactory() {
+        contextRunner.withPropertyValues("adapters.r2dbc.replica.enabled=true").run(context -> {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBeansOfType(MeterBinder.class).values().forEach(binder -> binder.bindTo(registry));
+
+            assertInstanceOf(ReadWriteRoutingConnectionFactory.class, context.getBean(ConnectionFactory.class));
+            assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_MAX_SIZE, registry.get("r2dbc.pool.max.allocated")
+                    .tag("name", PostgreSQLConnectionPool.PRIMARY_POOL).gauge().value());
+            assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_MAX_SIZE, registry.get("r2dbc.pool.max.allocated")
+                    .tag("name", ReplicaConnectionPool.REPLICA_POOL).gauge().value());
+            assertEquals(0, registry.get("r2dbc.pool.acquired")
+                    .tag("name", ReplicaConnectionPool.REPLICA_POOL).gauge().value());
+        });
+    }
+
+    @Test
+    void poolMetricsWithoutReplicaShouldOnlyCoverThePrimary() {
+        contextRunner.run(context -> {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            context.getBeansOfType(MeterBinder.class).values().forEach(binder -> binder.bindTo(registry));
+
+            assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_MAX_SIZE, registry.get("r2dbc.pool.max.allocated")
+                    .tag("name", PostgreSQLConnectionPool.PRIMARY_POOL).gauge().value());
+            assertNull(registry.find("r2dbc.pool.max.allocated")
+                    .tag("name", ReplicaConnectionPool.REPLICA_POOL).gauge());
+        });
+    }
+}
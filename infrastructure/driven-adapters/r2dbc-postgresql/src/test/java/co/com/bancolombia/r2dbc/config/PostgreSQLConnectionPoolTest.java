@@ -1,12 +1,21 @@
 package co.com.bancolombia.r2dbc.config;
 
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
 
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 class PostgreSQLConnectionPoolTest {
@@ -34,4 +43,38 @@ class PostgreSQLConnectionPoolTest {
     void getConnectionConfigSuccess() {
         assertNotNull(connectionPool.getConnectionConfig(properties));
     }
+
+    @Test
+    void getConnectionConfigWithPoolProperties() {
+        when(properties.pool()).thenReturn(new PostgresqlConnectionProperties.Pool(
+                2, 4, Duration.ofMinutes(5), Duration.ofMinutes(20), Duration.ofSeconds(2), 0,
+                ValidationDepth.REMOTE, "SELECT 1"));
+
+        ConnectionPool pool = connectionPool.getConnectionConfig(properties);
+
+        assertNotNull(pool);
+        assertEquals(4, pool.getMetrics().orElseThrow().getMaxAllocatedSize());
+    }
+
+    @Test
+    void getConnectionConfigWithStatementProperties() {
+        when(properties.statements()).thenReturn(new PostgresqlConnectionProperties.Statements(0, true));
+
+        assertNotNull(connectionPool.getConnectionConfig(properties));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void connectionFactoryShouldRouteBetweenPrimaryAndReplica() {
+        ConnectionPool primary = connectionPool.getConnectionConfig(properties);
+        ConnectionPool replicaPool = new ReplicaConnectionPool().replicaConnectionPool(properties,
+                new ReplicaConnectionProperties(true, "replica", null, null, null, null, null, true));
+        ObjectProvider<ConnectionPool> replica = mock(ObjectProvider.class);
+        when(replica.getIfAvailable()).thenReturn(replicaPool);
+
+        ConnectionFactory factory = connectionPool.connectionFactory(primary, replica,
+                new ReplicaConnectionProperties(true, null, null, null, null, null, null, true));
+
+        assertInstanceOf(ReadWriteRoutingConnectionFactory.class, factory);
+    }
 }
@@ -0,0 +1,55 @@
+package co.com.bancolombia.r2dbc.config;
+
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostgresqlConnectionPropertiesTest {
+
+    @Test
+    void poolDefaultsShouldApplyWhenValuesAreMissing() {
+        PostgresqlConnectionProperties.Pool pool = PostgresqlConnectionProperties.Pool.defaults();
+
+        assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_INITIAL_SIZE, pool.initialSize());
+        assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_MAX_SIZE, pool.maxSize());
+        assertEquals(Duration.ofMinutes(30), pool.maxIdleTime());
+        assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_MAX_LIFE_TIME, pool.maxLifeTime());
+        assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_MAX_ACQUIRE_TIME, pool.maxAcquireTime());
+        assertEquals(PostgresqlConnectionProperties.Pool.DEFAULT_ACQUIRE_RETRY, pool.acquireRetry());
+        assertEquals(ValidationDepth.LOCAL, pool.validationDepth());
+        assertNull(pool.validationQuery());
+    }
+
+    @Test
+    void poolInitialSizeShouldNotExceedMaxSize() {
+        PostgresqlConnectionProperties.Pool pool =
+                new PostgresqlConnectionProperties.Pool(20, 10, null, null, null, null, null, null);
+
+        assertEquals(10, pool.initialSize());
+        assertEquals(10, pool.maxSize());
+    }
+
+    @Test
+    void statementsDefaultsShouldApplyWhenValuesAreMissing() {
+        PostgresqlConnectionProperties.Statements statements = PostgresqlConnectionProperties.Statements.defaults();
+
+        assertEquals(PostgresqlConnectionProperties.Statements.DEFAULT_PREPARED_STATEMENT_CACHE_QUERIES,
+                statements.preparedStatementCacheQueries());
+        assertFalse(statements.forceBinary());
+    }
+
+    @Test
+    void statementsShouldKeepDisabledCache() {
+        PostgresqlConnectionProperties.Statements statements =
+                new PostgresqlConnectionProperties.Statements(0, true);
+
+        assertEquals(0, statements.preparedStatementCacheQueries());
+        assertTrue(statements.forceBinary());
+    }
+}
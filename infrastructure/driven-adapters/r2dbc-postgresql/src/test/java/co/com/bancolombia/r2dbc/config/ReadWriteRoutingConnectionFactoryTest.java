@@ -0,0 +1,93 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.helper.ConnectionRouting;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ReadWriteRoutingConnectionFactoryTest {
+
+    private ConnectionFactory primary;
+    private ConnectionFactory replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() {
+        primary = Mockito.mock(ConnectionFactory.class);
+        replica = Mockito.mock(ConnectionFactory.class);
+        primaryConnection = Mockito.mock(Connection.class);
+        replicaConnection = Mockito.mock(Connection.class);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+        doReturn(Mono.just(replicaConnection)).when(replica).create();
+    }
+
+    @Test
+    void createShouldUsePrimaryForWrites() {
+        ReadWriteRoutingConnectionFactory factory = new ReadWriteRoutingConnectionFactory(primary, replica, true);
+
+        StepVerifier.create(Mono.from(factory.create()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        verify(replica, never()).create();
+    }
+
+    @Test
+    void createShouldUseReplicaForReadOnlyCalls() {
+        ReadWriteRoutingConnectionFactory factory = new ReadWriteRoutingConnectionFactory(primary, replica, true);
+
+        StepVerifier.create(ConnectionRouting.readOnly(Mono.from(factory.create())))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+
+        verify(primary, never()).create();
+    }
+
+    @Test
+    void createShouldFallBackToPrimaryWithoutReplica() {
+        ReadWriteRoutingConnectionFactory factory = new ReadWriteRoutingConnectionFactory(primary, null, true);
+
+        StepVerifier.create(ConnectionRouting.readOnly(Mono.from(factory.create())))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+    }
+
+    @Test
+    void createWithoutReplicaShouldNotReportReplicaReads() {
+        ReadWriteRoutingConnectionFactory factory = new ReadWriteRoutingConnectionFactory(primary, null, true);
+        AtomicBoolean emptyOnPrimary = new AtomicBoolean();
+
+        StepVerifier.create(ConnectionRouting.onEmptyFromPrimary(
+                        ConnectionRouting.readOnly(Mono.from(factory.create()).then()),
+                        () -> emptyOnPrimary.set(true)))
+                .verifyComplete();
+
+        assertTrue(emptyOnPrimary.get());
+    }
+
+    @Test
+    void createWithReplicaShouldReportReplicaReads() {
+        ReadWriteRoutingConnectionFactory factory = new ReadWriteRoutingConnectionFactory(primary, replica, true);
+        AtomicBoolean emptyOnPrimary = new AtomicBoolean();
+
+        StepVerifier.create(ConnectionRouting.onEmptyFromPrimary(
+                        ConnectionRouting.readOnly(Mono.from(factory.create()).then()),
+                        () -> emptyOnPrimary.set(true)))
+                .verifyComplete();
+
+        assertFalse(emptyOnPrimary.get());
+    }
+}
@@ -0,0 +1,64 @@
+package co.com.bancolombia.r2dbc.config;
+
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class SchemaMigrationConfigTest {
+
+    @Mock
+    private PostgresqlConnectionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(properties.host()).thenReturn("localhost");
+        when(properties.port()).thenReturn(5433);
+        when(properties.database()).thenReturn("franchises");
+        when(properties.username()).thenReturn("username");
+        when(properties.password()).thenReturn("password");
+    }
+
+    @Test
+    void jdbcUrlUsesAdapterProperties() {
+        assertEquals("jdbc:postgresql://localhost:5433/franchises", SchemaMigrationConfig.jdbcUrl(properties));
+    }
+
+    @Test
+    void jdbcUrlFallsBackToDefaultPort() {
+        when(properties.port()).thenReturn(null);
+
+        assertEquals("jdbc:postgresql://localhost:5432/franchises", SchemaMigrationConfig.jdbcUrl(properties));
+    }
+
+    @Test
+    void configureBaselinesExistingDatabasesAtV1() {
+        when(properties.schema()).thenReturn("inventory");
+
+        FluentConfiguration configuration = SchemaMigrationConfig.configure(properties,
+                new SchemaMigrationProperties(true, true));
+
+        assertTrue(configuration.isBaselineOnMigrate());
+        assertEquals("1", configuration.getBaselineVersion().getVersion());
+        assertArrayEquals(new String[]{"inventory"}, configuration.getSchemas());
+        assertEquals("db/migration", configuration.getLocations()[0].getPath());
+    }
+
+    @Test
+    void configureWithoutSchemaUsesConnectionDefault() {
+        FluentConfiguration configuration = SchemaMigrationConfig.configure(properties,
+                new SchemaMigrationProperties(true, false));
+
+        assertFalse(configuration.isBaselineOnMigrate());
+        assertEquals(0, configuration.getSchemas().length);
+    }
+}
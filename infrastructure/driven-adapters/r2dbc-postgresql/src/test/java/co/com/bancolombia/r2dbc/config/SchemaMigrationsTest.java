@@ -0,0 +1,117 @@
+package co.com.bancolombia.r2dbc.config;
+
+import co.com.bancolombia.r2dbc.entity.BranchEntity;
+import co.com.bancolombia.r2dbc.entity.FranchiseEntity;
+import co.com.bancolombia.r2dbc.entity.ProductEntity;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Replays the migration scripts as text, a renamed field or a missing migration fails here instead of at runtime.
+class SchemaMigrationsTest {
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "CREATE TABLE (?:IF NOT EXISTS )?(\\w+)\\s*\\((.*?)\\)\\s*;", Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    private static final Pattern ADD_COLUMN = Pattern.compile(
+            "ALTER TABLE (\\w+)\\s+ADD COLUMN (?:IF NOT EXISTS )?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE (?:UNIQUE )?INDEX (?:IF NOT EXISTS )?(\\w+)\\s+ON (\\w+)\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_INDEX = Pattern.compile(
+            "DROP INDEX (?:IF EXISTS )?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> TABLE_CONSTRAINTS = Set.of("constraint", "primary", "foreign", "unique", "check");
+
+    private static final Map<String, Set<String>> tables = new HashMap<>();
+    private static final Map<String, String> indexes = new HashMap<>();
+
+    @BeforeAll
+    static void replayMigrations() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver()
+                .getResources(SchemaMigrationConfig.MIGRATION_LOCATION + "/V*__*.sql");
+        List<Resource> ordered = Arrays.stream(scripts)
+                .sorted(Comparator.comparingInt(SchemaMigrationsTest::version))
+                .toList();
+
+        for (Resource script : ordered) {
+            String sql = script.getContentAsString(StandardCharsets.UTF_8).replaceAll("--[^\\n]*", "");
+            Matcher create = CREATE_TABLE.matcher(sql);
+            while (create.find()) {
+                tables.put(create.group(1).toLowerCase(Locale.ROOT), columns(create.group(2)));
+            }
+            Matcher addColumn = ADD_COLUMN.matcher(sql);
+            while (addColumn.find()) {
+                tables.get(addColumn.group(1).toLowerCase(Locale.ROOT)).add(addColumn.group(2).toLowerCase(Locale.ROOT));
+            }
+            Matcher createIndex = CREATE_INDEX.matcher(sql);
+            while (createIndex.find()) {
+                indexes.put(createIndex.group(1).toLowerCase(Locale.ROOT),
+                        createIndex.group(2).toLowerCase(Locale.ROOT) + "(" +
+                                createIndex.group(3).replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT) + ")");
+            }
+            Matcher dropIndex = DROP_INDEX.matcher(sql);
+            while (dropIndex.find()) {
+                indexes.remove(dropIndex.group(1).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {FranchiseEntity.class, BranchEntity.class, ProductEntity.class})
+    void migrationsDefineEveryMappedColumn(Class<?> entityType) {
+        RelationalPersistentEntity<?> entity = new R2dbcMappingContext().getRequiredPersistentEntity(entityType);
+        String table = entity.getTableName().getReference();
+        Set<String> mapped = new LinkedHashSet<>();
+        entity.forEach(property -> mapped.add(property.getColumnName().getReference()));
+
+        assertNotNull(tables.get(table), "No migration creates table " + table);
+        assertEquals(mapped, tables.get(table), "Columns of " + table + " differ from " + entityType.getSimpleName());
+    }
+
+    @Test
+    void migrationsIndexTheTopStockScan() {
+        assertEquals("products(branch_id, stock desc, id)", indexes.get("idx_products_branch_stock_id"));
+    }
+
+    @Test
+    void migrationsIndexEveryForeignKey() {
+        assertTrue(indexes.values().stream().anyMatch(index -> index.startsWith("branches(franchise_id")),
+                "branches.franchise_id is not the leading column of any index");
+        assertTrue(indexes.values().stream().anyMatch(index -> index.startsWith("products(branch_id")),
+                "products.branch_id is not the leading column of any index");
+    }
+
+    private static Set<String> columns(String body) {
+        return Arrays.stream(body.split("\\n"))
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .map(line -> line.split("\\s+")[0].toLowerCase(Locale.ROOT))
+                .filter(name -> !TABLE_CONSTRAINTS.contains(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static int version(Resource script) {
+        String filename = script.getFilename();
+        return Integer.parseInt(filename.substring(1, filename.indexOf("__")));
+    }
+}
@@ -0,0 +1,102 @@
+package co.com.bancolombia.r2dbc.events;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.branch.gateways.BranchRepository;
+import co.com.bancolombia.model.product.ProductStockChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryProductStockChangeBusTest {
+
+    @Mock
+    private BranchRepository branchRepository;
+
+    private InMemoryProductStockChangeBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InMemoryProductStockChangeBus(branchRepository, 2);
+        lenient().when(branchRepository.findById(1L))
+                .thenReturn(Mono.just(Branch.builder().id(1L).name("Branch 1").franchiseId(1L).build()));
+        lenient().when(branchRepository.findById(2L))
+                .thenReturn(Mono.just(Branch.builder().id(2L).name("Branch 2").franchiseId(2L).build()));
+    }
+
+    private ProductStockChange change(Long productId, Long branchId, Integer stock) {
+        return ProductStockChange.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .stock(stock)
+                .branchId(branchId)
+                .build();
+    }
+
+    private void publish(ProductStockChange change) {
+        bus.publish(change).block();
+    }
+
+    @Test
+    void publish_WithoutSubscribers_ShouldNotResolveTheFranchise() {
+        publish(change(1L, 1L, 5));
+
+        verify(branchRepository, never()).findById(1L);
+        assertEquals(0, bus.published());
+    }
+
+    @Test
+    void subscribeToFranchise_ShouldOnlyReceiveChangesOfThatFranchise() {
+        StepVerifier.create(bus.subscribeToFranchise(1L))
+                .then(() -> {
+                    publish(change(1L, 1L, 5));
+                    publish(change(2L, 2L, 7));
+                })
+                .expectNextMatches(received -> received.getProductId().equals(1L)
+                        && received.getFranchiseId().equals(1L))
+                .thenCancel()
+                .verify();
+
+        assertEquals(0, bus.subscribers());
+    }
+
+    @Test
+    void subscribeToBranch_WhenSlow_ShouldDeliverTheLatestStockPerProductInArrivalOrder() {
+        StepVerifier.create(bus.subscribeToBranch(1L), 0)
+                .then(() -> {
+                    publish(change(1L, 1L, 5));
+                    publish(change(2L, 1L, 3));
+                    publish(change(1L, 1L, 9));
+                })
+                .thenRequest(2)
+                .expectNextMatches(received -> received.getProductId().equals(1L) && received.getStock().equals(9))
+                .expectNextMatches(received -> received.getProductId().equals(2L) && received.getStock().equals(3))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, bus.conflated());
+    }
+
+    @Test
+    void subscribeToBranch_WhenTooManyProductsPending_ShouldDropTheSubscriber() {
+        StepVerifier.create(bus.subscribeToBranch(1L), 0)
+                .then(() -> {
+                    publish(change(1L, 1L, 5));
+                    publish(change(2L, 1L, 3));
+                    publish(change(3L, 1L, 1));
+                })
+                .verifyErrorMatches(IllegalStateException.class::isInstance);
+
+        assertEquals(1, bus.overflowed());
+        assertEquals(0, bus.subscribers());
+    }
+}
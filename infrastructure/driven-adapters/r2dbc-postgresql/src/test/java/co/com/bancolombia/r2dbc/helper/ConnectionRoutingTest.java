@@ -0,0 +1,90 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionRoutingTest {
+
+    private static Mono<ConnectionRouting.Route> currentRoute(boolean readYourWrites) {
+        return Mono.deferContextual(context -> Mono.just(ConnectionRouting.route(context, readYourWrites)));
+    }
+
+    @Test
+    void routeShouldUsePrimaryByDefault() {
+        StepVerifier.create(currentRoute(true))
+                .expectNext(ConnectionRouting.Route.PRIMARY)
+                .verifyComplete();
+    }
+
+    @Test
+    void readOnlyShouldUseReplica() {
+        StepVerifier.create(ConnectionRouting.readOnly(currentRoute(true)))
+                .expectNext(ConnectionRouting.Route.REPLICA)
+                .verifyComplete();
+
+        StepVerifier.create(ConnectionRouting.readOnly(Flux.from(currentRoute(true))))
+                .expectNext(ConnectionRouting.Route.REPLICA)
+                .verifyComplete();
+    }
+
+    @Test
+    void readAfterWriteInSessionShouldUsePrimaryWhenReadYourWritesIsEnabled() {
+        Mono<ConnectionRouting.Route> writeThenRead = currentRoute(true)
+                .then(ConnectionRouting.readOnly(currentRoute(true)));
+
+        StepVerifier.create(writeThenRead.contextWrite(ConnectionRouting::withSession))
+                .expectNext(ConnectionRouting.Route.PRIMARY)
+                .verifyComplete();
+    }
+
+    @Test
+    void readAfterWriteInSessionShouldUseReplicaWhenReadYourWritesIsDisabled() {
+        Mono<ConnectionRouting.Route> writeThenRead = currentRoute(false)
+                .then(ConnectionRouting.readOnly(currentRoute(false)));
+
+        StepVerifier.create(writeThenRead.contextWrite(ConnectionRouting::withSession))
+                .expectNext(ConnectionRouting.Route.REPLICA)
+                .verifyComplete();
+    }
+
+    @Test
+    void onPrimaryShouldSendReadOnlyStatementsToThePrimaryWithoutMarkingTheSession() {
+        Mono<ConnectionRouting.Route> confirmedThenRead = ConnectionRouting.onPrimary(
+                        ConnectionRouting.readOnly(currentRoute(true)))
+                .then(ConnectionRouting.readOnly(currentRoute(true)));
+
+        StepVerifier.create(ConnectionRouting.onPrimary(ConnectionRouting.readOnly(currentRoute(true))))
+                .expectNext(ConnectionRouting.Route.PRIMARY)
+                .verifyComplete();
+        StepVerifier.create(confirmedThenRead.contextWrite(ConnectionRouting::withSession))
+                .expectNext(ConnectionRouting.Route.REPLICA)
+                .verifyComplete();
+    }
+
+    @Test
+    void pinnedToPrimaryShouldHoldOnceTheSessionWroteOrThePrimaryIsForced() {
+        Mono<Boolean> pinned = Mono.deferContextual(context -> Mono.just(ConnectionRouting.pinnedToPrimary(context)));
+
+        StepVerifier.create(pinned.contextWrite(ConnectionRouting::withSession))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(currentRoute(true).then(pinned).contextWrite(ConnectionRouting::withSession))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(ConnectionRouting.onPrimary(pinned))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void withSessionShouldKeepExistingSession() {
+        Context context = ConnectionRouting.withSession(Context.empty());
+
+        assertEquals(context, ConnectionRouting.withSession(context));
+    }
+}
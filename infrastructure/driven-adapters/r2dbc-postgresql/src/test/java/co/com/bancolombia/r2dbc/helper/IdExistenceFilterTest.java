@@ -0,0 +1,153 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdExistenceFilterTest {
+
+    private IdExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdExistenceFilter(0.001, 100, Duration.ofSeconds(5));
+    }
+
+    private void load(Long... ids) {
+        filter.rebuild(Mono.just(10L), () -> Flux.just(ids)).block();
+    }
+
+    @Test
+    void mightExist_BeforeTheFirstScan_ShouldLetEveryPositiveIdThrough() {
+        assertTrue(filter.mightExist(3L));
+        assertFalse(filter.mightExist(0L));
+        assertFalse(filter.mightExist(null));
+    }
+
+    @Test
+    void mightExist_ShouldOnlyHintAtIdsTheScanDidNotReturn() {
+        load(1L, 2L, 5L);
+
+        assertTrue(filter.loaded());
+        assertTrue(filter.mightExist(1L));
+        assertFalse(filter.mightExist(3L));
+        assertFalse(filter.knownMissing(3L));
+        assertFalse(filter.mightExist(6L));
+        assertFalse(filter.knownMissing(6L));
+    }
+
+    @Test
+    void lookup_WhenTheIdCommittedAfterTheScan_ShouldFindItOnThePrimary() {
+        load(1L, 2L, 10L);
+        Mono<ConnectionRouting.Route> lateCommit = ConnectionRouting.readOnly(
+                Mono.deferContextual(context -> Mono.just(ConnectionRouting.route(context, true))));
+
+        StepVerifier.create(filter.lookup(4L, () -> lateCommit))
+                .expectNext(ConnectionRouting.Route.PRIMARY)
+                .verifyComplete();
+        StepVerifier.create(filter.lookup(2L, () -> lateCommit))
+                .expectNext(ConnectionRouting.Route.REPLICA)
+                .verifyComplete();
+
+        assertEquals(0, filter.rejected());
+    }
+
+    @Test
+    void guard_ShouldOnlyRejectRememberedMisses() {
+        load(1L, 2L, 10L);
+        AtomicInteger queries = new AtomicInteger();
+        filter.recordMiss(5L);
+
+        StepVerifier.create(filter.guard(4L, () -> Mono.fromRunnable(queries::incrementAndGet))
+                        .then(filter.guard(5L, () -> Mono.fromRunnable(queries::incrementAndGet))))
+                .verifyComplete();
+
+        assertEquals(1, queries.get());
+        assertEquals(1, filter.rejected());
+    }
+
+    @Test
+    void recordInsert_DuringRebuild_ShouldReachTheNewFilter() {
+        load(1L, 2L, 10L);
+
+        filter.rebuild(Mono.just(10L), () -> Flux.just(1L, 10L)
+                        .doOnComplete(() -> filter.recordInsert(4L)))
+                .block();
+
+        assertTrue(filter.mightExist(4L));
+        assertFalse(filter.mightExist(2L));
+        assertFalse(filter.knownMissing(2L));
+    }
+
+    @Test
+    void recordInsert_ShouldAcceptTheNewId() {
+        load(1L, 2L, 10L);
+        filter.recordMiss(11L);
+
+        filter.recordInsert(3L);
+        filter.recordInsert(11L);
+
+        assertTrue(filter.mightExist(3L));
+        assertTrue(filter.mightExist(11L));
+    }
+
+    @Test
+    void lookup_ShouldRememberMissesAndSkipTheQuery() {
+        AtomicInteger queries = new AtomicInteger();
+
+        StepVerifier.create(filter.lookup(11L, () -> Mono.fromRunnable(queries::incrementAndGet))
+                        .then(filter.lookup(11L, () -> Mono.fromRunnable(queries::incrementAndGet))))
+                .verifyComplete();
+
+        assertEquals(1, queries.get());
+        assertEquals(1, filter.rejected());
+        assertTrue(filter.knownMissing(11L));
+    }
+
+    @Test
+    void lookup_WhenReadFromTheReplica_ShouldNotRememberTheMiss() {
+        AtomicInteger queries = new AtomicInteger();
+        Mono<Object> replicaRead = ConnectionRouting.readOnly(Mono.deferContextual(context -> {
+            queries.incrementAndGet();
+            ConnectionRouting.route(context, true);
+            return Mono.empty();
+        }));
+
+        StepVerifier.create(filter.lookup(11L, () -> replicaRead)
+                        .then(filter.lookup(11L, () -> replicaRead)))
+                .verifyComplete();
+
+        assertEquals(2, queries.get());
+        assertFalse(filter.knownMissing(11L));
+    }
+
+    @Test
+    void guard_ShouldNotRememberEmptyResults() {
+        AtomicInteger queries = new AtomicInteger();
+
+        StepVerifier.create(filter.guard(11L, () -> Mono.fromRunnable(queries::incrementAndGet))
+                        .then(filter.guard(11L, () -> Mono.fromRunnable(queries::incrementAndGet))))
+                .verifyComplete();
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    void disabled_ShouldLetEverythingThrough() {
+        IdExistenceFilter disabled = IdExistenceFilter.disabled();
+        disabled.recordMiss(5L);
+
+        assertTrue(disabled.mightExist(5L));
+        assertTrue(disabled.mightExist(0L));
+        assertFalse(disabled.knownMissing(5L));
+    }
+}
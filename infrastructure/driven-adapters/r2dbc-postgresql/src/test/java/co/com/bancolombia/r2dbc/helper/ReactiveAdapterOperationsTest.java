@@ -15,6 +15,8 @@ import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ReactiveAdapterOperationsTest {
@@ -44,6 +46,23 @@ class ReactiveAdapterOperationsTest {
                 .verifyComplete();
     }
 
+    @Test
+    void saveWithMappingFunctionShouldSkipObjectMapper() {
+        ReactiveAdapterOperations<DummyEntity, DummyData, String, DummyRepository> mappedOperations =
+                new ReactiveAdapterOperations<DummyEntity, DummyData, String, DummyRepository>(
+                        repository, mapper, DummyEntity::toEntity, DummyData::fromEntity) {};
+        DummyEntity entity = new DummyEntity("1", "test");
+        DummyData data = new DummyData("1", "test");
+
+        when(repository.save(data)).thenReturn(Mono.just(data));
+
+        StepVerifier.create(mappedOperations.save(entity))
+                .expectNext(entity)
+                .verifyComplete();
+
+        verify(mapper, never()).map(any(), any());
+    }
+
     @Test
     void saveAllEntities() {
         DummyEntity entity1 = new DummyEntity("1", "test1");
@@ -149,6 +168,10 @@ class ReactiveAdapterOperationsTest {
             this.name = name;
         }
 
+        public static DummyData fromEntity(DummyEntity entity) {
+            return new DummyData(entity.getId(), entity.getName());
+        }
+
         public String getId() {
             return id;
         }
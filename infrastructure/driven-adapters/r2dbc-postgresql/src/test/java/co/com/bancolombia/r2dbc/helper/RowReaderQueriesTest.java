@@ -0,0 +1,81 @@
+package co.com.bancolombia.r2dbc.helper;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.function.BiFunction;
+
+import static co.com.bancolombia.r2dbc.helper.RowReaderQueries.param;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RowReaderQueriesTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+
+    @Mock
+    private RowsFetchSpec<String> fetchSpec;
+
+    private RowReaderQueries rowQueries;
+
+    @BeforeEach
+    void setUp() {
+        rowQueries = new RowReaderQueries(databaseClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void oneShouldBindValuesAndReadRowWithReader() {
+        Row row = mock(Row.class);
+        when(row.get("name", String.class)).thenReturn("Test Product");
+        ArgumentCaptor<BiFunction<Row, RowMetadata, String>> mapping = ArgumentCaptor.forClass(BiFunction.class);
+        when(databaseClient.sql("SELECT * FROM products WHERE id = :id")).thenReturn(executeSpec);
+        when(executeSpec.bind("id", 1L)).thenReturn(executeSpec);
+        when(executeSpec.map(mapping.capture())).thenReturn(fetchSpec);
+        when(fetchSpec.one()).thenReturn(Mono.just("mapped"));
+
+        StepVerifier.create(rowQueries.one("SELECT * FROM products WHERE id = :id",
+                        r -> r.get("name", String.class), param("id", 1L, Long.class)))
+                .expectNext("mapped")
+                .verifyComplete();
+
+        assertEquals("Test Product", mapping.getValue().apply(row, mock(RowMetadata.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void allShouldBindNullsWithTheirTypeAndReadEveryRow() {
+        String sql = "SELECT * FROM products WHERE branch_id = :branchId AND id > :afterId";
+        when(databaseClient.sql(sql)).thenReturn(executeSpec);
+        when(executeSpec.bind("branchId", 1L)).thenReturn(executeSpec);
+        when(executeSpec.bindNull("afterId", Long.class)).thenReturn(executeSpec);
+        when(executeSpec.<String>map(any(BiFunction.class))).thenReturn(fetchSpec);
+        when(fetchSpec.all()).thenReturn(Flux.just("first", "second"));
+
+        StepVerifier.create(rowQueries.all(sql, r -> r.get("name", String.class),
+                        param("branchId", 1L, Long.class), param("afterId", null, Long.class)))
+                .expectNext("first", "second")
+                .verifyComplete();
+
+        verify(executeSpec).bindNull("afterId", Long.class);
+    }
+}
@@ -0,0 +1,57 @@
+package co.com.bancolombia.r2dbc.mapper;
+
+import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.r2dbc.entity.BranchEntity;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BranchEntityMapperTest {
+
+    @Test
+    void toDomainShouldCopyEveryColumn() {
+        BranchEntity entity = BranchEntity.builder()
+                .id(1L)
+                .name("Test Branch")
+                .franchiseId(2L)
+                .build();
+
+        Branch branch = BranchEntityMapper.toDomain(entity);
+
+        assertEquals(1L, branch.getId());
+        assertEquals("Test Branch", branch.getName());
+        assertEquals(2L, branch.getFranchiseId());
+    }
+
+    @Test
+    void toEntityShouldCopyEveryField() {
+        Branch branch = Branch.builder()
+                .id(1L)
+                .name("Test Branch")
+                .franchiseId(2L)
+                .build();
+
+        BranchEntity entity = BranchEntityMapper.toEntity(branch);
+
+        assertEquals(1L, entity.getId());
+        assertEquals("Test Branch", entity.getName());
+        assertEquals(2L, entity.getFranchiseId());
+    }
+
+    @Test
+    void fromRowShouldReadEveryColumn() {
+        Row row = mock(Row.class);
+        when(row.get("id", Long.class)).thenReturn(1L);
+        when(row.get("name", String.class)).thenReturn("Test Branch");
+        when(row.get("franchise_id", Long.class)).thenReturn(2L);
+
+        Branch branch = BranchEntityMapper.fromRow(row);
+
+        assertEquals(1L, branch.getId());
+        assertEquals("Test Branch", branch.getName());
+        assertEquals(2L, branch.getFranchiseId());
+    }
+}
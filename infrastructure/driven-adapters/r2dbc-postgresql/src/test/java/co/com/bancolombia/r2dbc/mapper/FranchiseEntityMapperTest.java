@@ -0,0 +1,51 @@
+package co.com.bancolombia.r2dbc.mapper;
+
+import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.r2dbc.entity.FranchiseEntity;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FranchiseEntityMapperTest {
+
+    @Test
+    void toDomainShouldCopyEveryColumn() {
+        FranchiseEntity entity = FranchiseEntity.builder()
+                .id(1L)
+                .name("Test Franchise")
+                .build();
+
+        Franchise franchise = FranchiseEntityMapper.toDomain(entity);
+
+        assertEquals(1L, franchise.getId());
+        assertEquals("Test Franchise", franchise.getName());
+    }
+
+    @Test
+    void toEntityShouldCopyEveryField() {
+        Franchise franchise = Franchise.builder()
+                .id(1L)
+                .name("Test Franchise")
+                .build();
+
+        FranchiseEntity entity = FranchiseEntityMapper.toEntity(franchise);
+
+        assertEquals(1L, entity.getId());
+        assertEquals("Test Franchise", entity.getName());
+    }
+
+    @Test
+    void fromRowShouldReadEveryColumn() {
+        Row row = mock(Row.class);
+        when(row.get("id", Long.class)).thenReturn(1L);
+        when(row.get("name", String.class)).thenReturn("Test Franchise");
+
+        Franchise franchise = FranchiseEntityMapper.fromRow(row);
+
+        assertEquals(1L, franchise.getId());
+        assertEquals("Test Franchise", franchise.getName());
+    }
+}
@@ -0,0 +1,91 @@
+package co.com.bancolombia.r2dbc.mapper;
+
+import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.r2dbc.entity.ProductEntity;
+import io.r2dbc.spi.Row;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductEntityMapperTest {
+
+    @Test
+    void toDomainShouldCopyEveryColumn() {
+        ProductEntity entity = ProductEntity.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(10)
+                .branchId(2L)
+                .version(5L)
+                .build();
+
+        Product product = ProductEntityMapper.toDomain(entity);
+
+        assertEquals(1L, product.getId());
+        assertEquals("Test Product", product.getName());
+        assertEquals(10, product.getStock());
+        assertEquals(2L, product.getBranchId());
+        assertEquals(5L, product.getVersion());
+    }
+
+    @Test
+    void toEntityShouldCopyEveryField() {
+        Product product = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(10)
+                .branchId(2L)
+                .version(5L)
+                .build();
+
+        ProductEntity entity = ProductEntityMapper.toEntity(product);
+
+        assertEquals(1L, entity.getId());
+        assertEquals("Test Product", entity.getName());
+        assertEquals(10, entity.getStock());
+        assertEquals(2L, entity.getBranchId());
+        assertEquals(5L, entity.getVersion());
+    }
+
+    @Test
+    void fromRowShouldReadEveryColumn() {
+        Row row = mock(Row.class);
+        when(row.get("id", Long.class)).thenReturn(1L);
+        when(row.get("name", String.class)).thenReturn("Test Product");
+        when(row.get("stock", Integer.class)).thenReturn(10);
+        when(row.get("branch_id", Long.class)).thenReturn(2L);
+        when(row.get("version", Long.class)).thenReturn(5L);
+
+        Product product = ProductEntityMapper.fromRow(row);
+
+        assertEquals(1L, product.getId());
+        assertEquals("Test Product", product.getName());
+        assertEquals(10, product.getStock());
+        assertEquals(2L, product.getBranchId());
+        assertEquals(5L, product.getVersion());
+    }
+
+    @Test
+    void topStockFromRowShouldReadProductAndBranch() {
+        Row row = mock(Row.class);
+        when(row.get("franchise_id", Long.class)).thenReturn(3L);
+        when(row.get("product_id", Long.class)).thenReturn(1L);
+        when(row.get("product_name", String.class)).thenReturn("Test Product");
+        when(row.get("stock", Integer.class)).thenReturn(10);
+        when(row.get("branch_id", Long.class)).thenReturn(2L);
+        when(row.get("branch_name", String.class)).thenReturn("Test Branch");
+
+        ProductWithBranch result = ProductEntityMapper.topStockFromRow(row);
+
+        assertEquals(1L, result.getProduct().getId());
+        assertEquals("Test Product", result.getProduct().getName());
+        assertEquals(10, result.getProduct().getStock());
+        assertEquals(2L, result.getProduct().getBranchId());
+        assertEquals(2L, result.getBranch().getId());
+        assertEquals("Test Branch", result.getBranch().getName());
+        assertEquals(3L, result.getBranch().getFranchiseId());
+    }
+}
@@ -0,0 +1,65 @@
+-- Compares the plans of the previous correlated-subquery top-stock query and the
+-- DISTINCT ON version on a seeded dataset.
+--
+-- Runs in an isolated schema and drops it at the end:
+--   psql -h localhost -U postgres -d postgres -f top_stock_query_plans.sql
+--
+-- Dataset: 20 franchises, franchise 1 owns 2,000 branches, the others 100 each, and
+-- every branch holds 200 products (780,000 product rows overall).
+
+DROP SCHEMA IF EXISTS top_stock_benchmark CASCADE;
+CREATE SCHEMA top_stock_benchmark;
+SET search_path TO top_stock_benchmark;
+
+\ir ../../../../main/resources/db/migration/V1__create_schema.sql
+
+INSERT INTO franchises (name)
+SELECT 'Franchise ' || f FROM generate_series(1, 20) AS f;
+
+INSERT INTO branches (name, franchise_id)
+SELECT 'Branch ' || b, 1 FROM generate_series(1, 2000) AS b;
+
+INSERT INTO branches (name, franchise_id)
+SELECT 'Branch ' || f || '-' || b, f FROM generate_series(2, 20) AS f, generate_series(1, 100) AS b;
+
+INSERT INTO products (name, stock, branch_id)
+SELECT 'Product ' || b.id || '-' || p, (random() * 1000)::INTEGER, b.id
+FROM branches b, generate_series(1, 200) AS p;
+
+ANALYZE;
+
+\echo '=== Previous query, no supporting indexes ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM products p
+INNER JOIN branches b ON p.branch_id = b.id
+WHERE b.franchise_id = 1
+AND p.id = (SELECT id FROM products p2 WHERE p2.branch_id = p.branch_id AND p2.stock =
+    (SELECT MAX(p3.stock) FROM products p3 WHERE p3.branch_id = p.branch_id) ORDER BY p2.id ASC LIMIT 1);
+
+\echo '=== DISTINCT ON query, no supporting indexes ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT ON (p.branch_id) p.* FROM products p
+INNER JOIN branches b ON p.branch_id = b.id
+WHERE b.franchise_id = 1
+ORDER BY p.branch_id, p.stock DESC, p.id;
+
+\ir ../../../../main/resources/db/migration/V2__top_stock_indexes.sql
+ANALYZE;
+
+\echo '=== Previous query, with V2 indexes ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM products p
+INNER JOIN branches b ON p.branch_id = b.id
+WHERE b.franchise_id = 1
+AND p.id = (SELECT id FROM products p2 WHERE p2.branch_id = p.branch_id AND p2.stock =
+    (SELECT MAX(p3.stock) FROM products p3 WHERE p3.branch_id = p.branch_id) ORDER BY p2.id ASC LIMIT 1);
+
+\echo '=== DISTINCT ON query, with V2 indexes ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT ON (p.branch_id) p.* FROM products p
+INNER JOIN branches b ON p.branch_id = b.id
+WHERE b.franchise_id = 1
+ORDER BY p.branch_id, p.stock DESC, p.id;
+
+RESET search_path;
+DROP SCHEMA top_stock_benchmark CASCADE;
@@ -2,33 +2,59 @@ package co.com.bancolombia.api;
 
 import co.com.bancolombia.api.dto.request.AddBranchRequest;
 import co.com.bancolombia.api.dto.request.AddProductRequest;
+import co.com.bancolombia.api.dto.request.AdjustProductStockRequest;
 import co.com.bancolombia.api.dto.request.CreateFranchiseRequest;
+import co.com.bancolombia.api.dto.request.IngestProductRequest;
+import co.com.bancolombia.api.dto.request.ProductStockUpdateRequest;
 import co.com.bancolombia.api.dto.request.UpdateBranchNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateFranchiseNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateProductNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateProductStockRequest;
+import co.com.bancolombia.api.dto.response.ProductIngestionResponse;
+import co.com.bancolombia.api.dto.response.ProductStockChangeResponse;
+import co.com.bancolombia.api.dto.response.ProductWithBranchResponse;
 import co.com.bancolombia.api.helper.ValidationUtil;
 import co.com.bancolombia.api.mapper.BranchMapper;
 import co.com.bancolombia.api.mapper.FranchiseMapper;
 import co.com.bancolombia.api.mapper.ProductMapper;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.TopStockProducts;
 import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
 import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
+import co.com.bancolombia.usecase.bulkupdateproductstock.BulkUpdateProductStockUseCase;
 import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
 import co.com.bancolombia.usecase.deleteproduct.DeleteProductUseCase;
 import co.com.bancolombia.usecase.gettopstockproductsbyfranchise.GetTopStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.ingestproducts.IngestProductsUseCase;
+import co.com.bancolombia.usecase.listbranchproducts.ListBranchProductsUseCase;
+import co.com.bancolombia.usecase.listfranchisebranches.ListFranchiseBranchesUseCase;
+import co.com.bancolombia.usecase.subscribeproductstockchanges.SubscribeProductStockChangesUseCase;
 import co.com.bancolombia.usecase.updatebranchname.UpdateBranchNameUseCase;
 import co.com.bancolombia.usecase.updatefranchisename.UpdateFranchiseNameUseCase;
 import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
 import co.com.bancolombia.usecase.updateproductstock.UpdateProductStockUseCase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
 @Component
 @RequiredArgsConstructor
 public class Handler {
@@ -37,18 +63,36 @@ public class Handler {
     private final CreateFranchiseUseCase createFranchiseUseCase;
     private final AddBranchToFranchiseUseCase addBranchToFranchiseUseCase;
     private final AddProductToBranchUseCase addProductToBranchUseCase;
+    private final IngestProductsUseCase ingestProductsUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
     private final UpdateProductStockUseCase updateProductStockUseCase;
+    private final AdjustProductStockUseCase adjustProductStockUseCase;
+    private final BulkUpdateProductStockUseCase bulkUpdateProductStockUseCase;
     private final GetTopStockProductsByFranchiseUseCase topStockProductsByFranchiseUseCase;
     private final UpdateFranchiseNameUseCase updateFranchiseNameUseCase;
     private final UpdateBranchNameUseCase updateBranchNameUseCase;
     private final UpdateProductNameUseCase updateProductNameUseCase;
+    private final ListFranchiseBranchesUseCase listFranchiseBranchesUseCase;
+    private final ListBranchProductsUseCase listBranchProductsUseCase;
+    private final SubscribeProductStockChangesUseCase subscribeProductStockChangesUseCase;
     private static final String FRANCHISE_PATH_VARIABLE = "franchiseId";
     private static final String BRANCH_PATH_VARIABLE = "branchId";
     private static final String PRODUCT_PATH_VARIABLE = "productId";
     private static final String INVALID_FRANCHISE_ID = "Invalid franchise ID";
     private static final String INVALID_BRANCH_ID = "Invalid branch ID";
     private static final String INVALID_PRODUCT_ID = "Invalid product ID";
+    private static final String AFTER_QUERY_PARAM = "after";
+    private static final String LIMIT_QUERY_PARAM = "limit";
+    private static final String INVALID_CURSOR = "Invalid cursor";
+    private static final String INVALID_LIMIT = "Invalid limit";
+    private static final String INVALID_IF_MATCH = "Invalid If-Match header";
+    // Clients keep the response but must revalidate it with its ETag on every use.
+    private static final CacheControl REVALIDATED_READ = CacheControl.noCache().cachePrivate();
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.APPLICATION_NDJSON,
+            MediaType.TEXT_EVENT_STREAM);
+    private static final String STOCK_CHANGE_EVENT = "stock-change";
+    // Sent right away so headers go out before the first change, then often enough to keep proxies from idling out.
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
 
     public Mono<ServerResponse> createFranchise(ServerRequest serverRequest) {
         return serverRequest.bodyToMono(CreateFranchiseRequest.class)
@@ -92,6 +136,16 @@ public class Handler {
                 );
     }
 
+    public Mono<ServerResponse> ingestProducts(ServerRequest serverRequest) {
+        return ingestProductsUseCase.ingest(
+                        serverRequest.bodyToFlux(IngestProductRequest.class)
+                                .concatMap(validationUtil::validate)
+                                .map(ProductMapper::toDomain))
+                .map(created -> ProductIngestionResponse.builder().created(created).build())
+                .flatMap(response ->
+                        ServerResponse.status(HttpStatus.CREATED).bodyValue(response));
+    }
+
     public Mono<ServerResponse> deleteProduct(ServerRequest serverRequest) {
         String productIdStr = serverRequest.pathVariable(PRODUCT_PATH_VARIABLE);
         return Mono.fromCallable(() -> Long.parseLong(productIdStr))
@@ -109,23 +163,152 @@ public class Handler {
                 .flatMap(productId ->
                         serverRequest.bodyToMono(UpdateProductStockRequest.class)
                                 .flatMap(validationUtil::validate)
-                                .flatMap(request -> updateProductStockUseCase.updateStock(productId, request.getStock()))
+                                .flatMap(request -> ifMatchVersions(serverRequest)
+                                        .map(versions -> versions.size() == 1
+                                                ? updateProductStockUseCase.updateStock(productId,
+                                                        request.getStock(), versions.getFirst())
+                                                : updateProductStockUseCase.updateStock(productId,
+                                                        request.getStock(), versions))
+                                        .orElseGet(() -> updateProductStockUseCase.updateStock(productId,
+                                                request.getStock())))
+                                .flatMap(product -> ServerResponse.ok()
+                                        .headers(headers -> Optional.ofNullable(product.getVersion())
+                                                .ifPresent(version -> headers.setETag("\"" + version + "\"")))
+                                        .bodyValue(ProductMapper.toDto(product)))
+                );
+    }
+
+    public Mono<ServerResponse> adjustProductStock(ServerRequest serverRequest) {
+        String productIdStr = serverRequest.pathVariable(PRODUCT_PATH_VARIABLE);
+        return Mono.fromCallable(() -> Long.parseLong(productIdStr))
+                .onErrorMap(NumberFormatException.class,
+                        e -> new BusinessException(ErrorCode.B400001, INVALID_PRODUCT_ID))
+                .flatMap(productId ->
+                        serverRequest.bodyToMono(AdjustProductStockRequest.class)
+                                .flatMap(validationUtil::validate)
+                                .flatMap(request -> adjustProductStockUseCase.adjustStock(productId,
+                                        request.getDelta(), Boolean.TRUE.equals(request.getAllowNegative())))
                                 .map(ProductMapper::toDto)
                                 .flatMap(product ->
                                         ServerResponse.ok().bodyValue(product))
                 );
     }
 
+    public Mono<ServerResponse> bulkUpdateProductStock(ServerRequest serverRequest) {
+        return bulkUpdateProductStockUseCase.updateStocks(
+                        serverRequest.bodyToFlux(ProductStockUpdateRequest.class)
+                                .concatMap(validationUtil::validate)
+                                .map(ProductMapper::toDomain))
+                .map(ProductMapper::toDto)
+                .flatMap(result ->
+                        ServerResponse.ok().bodyValue(result));
+    }
+
     public Mono<ServerResponse> getTopStockProductsByFranchise(ServerRequest serverRequest) {
+        String franchiseIdStr = serverRequest.pathVariable(FRANCHISE_PATH_VARIABLE);
+        Optional<MediaType> streamingType = streamingType(serverRequest);
+        return Mono.fromCallable(() -> Long.parseLong(franchiseIdStr))
+                .onErrorMap(NumberFormatException.class,
+                        e -> new BusinessException(ErrorCode.B400001, INVALID_FRANCHISE_ID))
+                .flatMap(franchiseId -> streamingType
+                        .map(type -> streamTopStockProducts(franchiseId, type))
+                        .orElseGet(() -> topStockProducts(serverRequest, franchiseId)));
+    }
+
+    private Mono<ServerResponse> streamTopStockProducts(Long franchiseId, MediaType type) {
+        return ServerResponse.ok()
+                .contentType(type)
+                .body(topStockProductsByFranchiseUseCase.getTopStockProductsByFranchise(franchiseId)
+                        .map(ProductMapper::toDtoWithBranch), ProductWithBranchResponse.class);
+    }
+
+    // A held version answers 304 without loading; a freshly loaded one is compared as well, so revalidating after
+    // an eviction that changed nothing still gets 304.
+    private Mono<ServerResponse> topStockProducts(ServerRequest serverRequest, Long franchiseId) {
+        List<String> tags = ifNoneMatch(serverRequest);
+        Mono<String> heldVersion = tags.isEmpty() ? Mono.empty()
+                : topStockProductsByFranchiseUseCase.currentVersion(franchiseId);
+        return heldVersion
+                .filter(version -> matchesAny(tags, version))
+                .flatMap(Handler::notModified)
+                .switchIfEmpty(Mono.defer(() ->
+                        topStockProductsByFranchiseUseCase.getTopStockProducts(franchiseId)
+                                .flatMap(snapshot -> matchesAny(tags, snapshot.getVersion())
+                                        ? notModified(snapshot.getVersion())
+                                        : topStockResponse(snapshot))));
+    }
+
+    private static Mono<ServerResponse> topStockResponse(TopStockProducts snapshot) {
+        return ServerResponse.ok()
+                .headers(headers -> Optional.ofNullable(snapshot.getVersion())
+                        .ifPresent(version -> headers.setETag(entityTag(version))))
+                .cacheControl(REVALIDATED_READ)
+                .bodyValue(snapshot.getProducts().stream()
+                        .map(ProductMapper::toDtoWithBranch)
+                        .toList());
+    }
+
+    private static Mono<ServerResponse> notModified(String version) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                .eTag(entityTag(version))
+                .cacheControl(REVALIDATED_READ)
+                .build();
+    }
+
+    public Mono<ServerResponse> listFranchiseBranches(ServerRequest serverRequest) {
+        String franchiseIdStr = serverRequest.pathVariable(FRANCHISE_PATH_VARIABLE);
+        return Mono.fromCallable(() -> Long.parseLong(franchiseIdStr))
+                .onErrorMap(NumberFormatException.class,
+                        e -> new BusinessException(ErrorCode.B400001, INVALID_FRANCHISE_ID))
+                .flatMap(franchiseId -> listFranchiseBranchesUseCase.listBranches(franchiseId,
+                        queryParam(serverRequest, AFTER_QUERY_PARAM, Long::valueOf, INVALID_CURSOR),
+                        queryParam(serverRequest, LIMIT_QUERY_PARAM, Integer::valueOf, INVALID_LIMIT)))
+                .map(BranchMapper::toPageDto)
+                .flatMap(page ->
+                        ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> listBranchProducts(ServerRequest serverRequest) {
+        String branchIdStr = serverRequest.pathVariable(BRANCH_PATH_VARIABLE);
+        return Mono.fromCallable(() -> Long.parseLong(branchIdStr))
+                .onErrorMap(NumberFormatException.class,
+                        e -> new BusinessException(ErrorCode.B400001, INVALID_BRANCH_ID))
+                .flatMap(branchId -> listBranchProductsUseCase.listProducts(branchId,
+                        queryParam(serverRequest, AFTER_QUERY_PARAM, Long::valueOf, INVALID_CURSOR),
+                        queryParam(serverRequest, LIMIT_QUERY_PARAM, Integer::valueOf, INVALID_LIMIT)))
+                .map(ProductMapper::toPageDto)
+                .flatMap(page ->
+                        ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> streamFranchiseStockChanges(ServerRequest serverRequest) {
         String franchiseIdStr = serverRequest.pathVariable(FRANCHISE_PATH_VARIABLE);
         return Mono.fromCallable(() -> Long.parseLong(franchiseIdStr))
                 .onErrorMap(NumberFormatException.class,
                         e -> new BusinessException(ErrorCode.B400001, INVALID_FRANCHISE_ID))
-                .flatMapMany(topStockProductsByFranchiseUseCase::getTopStockProductsByFranchise)
-                .map(ProductMapper::toDtoWithBranch)
-                .collectList()
-                .flatMap(products ->
-                        ServerResponse.ok().bodyValue(products));
+                .flatMap(subscribeProductStockChangesUseCase::subscribeToFranchise)
+                .flatMap(Handler::stockChangeEvents);
+    }
+
+    public Mono<ServerResponse> streamBranchStockChanges(ServerRequest serverRequest) {
+        String branchIdStr = serverRequest.pathVariable(BRANCH_PATH_VARIABLE);
+        return Mono.fromCallable(() -> Long.parseLong(branchIdStr))
+                .onErrorMap(NumberFormatException.class,
+                        e -> new BusinessException(ErrorCode.B400001, INVALID_BRANCH_ID))
+                .flatMap(subscribeProductStockChangesUseCase::subscribeToBranch)
+                .flatMap(Handler::stockChangeEvents);
+    }
+
+    private static Mono<ServerResponse> stockChangeEvents(Flux<ProductStockChange> changes) {
+        Flux<ServerSentEvent<ProductStockChangeResponse>> keepAlive = Flux.interval(Duration.ZERO, KEEP_ALIVE_INTERVAL)
+                .map(_ -> ServerSentEvent.<ProductStockChangeResponse>builder().comment("keep-alive").build());
+        // Prefetch of one keeps undelivered changes in the bus, where they are conflated, instead of in operator queues.
+        return ServerResponse.ok()
+                .body(BodyInserters.fromServerSentEvents(changes
+                        .map(change -> ServerSentEvent.builder(ProductMapper.toStockChangeDto(change))
+                                .event(STOCK_CHANGE_EVENT)
+                                .build())
+                        .publish(events -> Flux.merge(1, events, keepAlive.takeUntilOther(events.then())), 1)));
     }
 
     public Mono<ServerResponse> updateFranchiseName(ServerRequest serverRequest) {
@@ -172,4 +355,69 @@ public class Handler {
                                         ServerResponse.ok().bodyValue(branch))
                 );
     }
+
+    // "*" or a missing header keeps the unconditional update. If-Match compares strongly, so weak tags never match
+    // and a header holding only weak tags fails the precondition.
+    private static Optional<List<Long>> ifMatchVersions(ServerRequest serverRequest) {
+        List<String> tags = serverRequest.headers().header(HttpHeaders.IF_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .toList();
+        if (tags.isEmpty() || tags.contains("*")) {
+            return Optional.empty();
+        }
+        List<Long> versions = tags.stream()
+                .filter(tag -> !tag.startsWith("W/"))
+                .map(Handler::ifMatchVersion)
+                .distinct()
+                .toList();
+        if (versions.isEmpty()) {
+            throw new BusinessException(ErrorCode.B412001);
+        }
+        return Optional.of(versions);
+    }
+
+    private static Long ifMatchVersion(String tag) {
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.B400001, INVALID_IF_MATCH);
+        }
+    }
+
+    // Only an explicit NDJSON or event-stream Accept streams; */* and a missing header keep the JSON array.
+    private static Optional<MediaType> streamingType(ServerRequest serverRequest) {
+        return serverRequest.headers().accept().stream()
+                .filter(type -> STREAMING_TYPES.stream().anyMatch(type::equalsTypeAndSubtype))
+                .findFirst()
+                .map(type -> new MediaType(type.getType(), type.getSubtype()));
+    }
+
+    // Weak and strong tags compare the same for If-None-Match; an absent header skips the version lookup.
+    private static List<String> ifNoneMatch(ServerRequest serverRequest) {
+        return serverRequest.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .toList();
+    }
+
+    private static boolean matchesAny(List<String> tags, String version) {
+        return version != null && (tags.contains("*") || tags.contains(entityTag(version)));
+    }
+
+    private static String entityTag(String version) {
+        return "\"" + version + "\"";
+    }
+
+    private static <T> T queryParam(ServerRequest serverRequest, String name, Function<String, T> parser,
+                                    String invalidMessage) {
+        Optional<String> value = serverRequest.queryParam(name);
+        try {
+            return value.map(parser).orElse(null);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.B400001, invalidMessage);
+        }
+    }
 }
@@ -2,15 +2,27 @@ package co.com.bancolombia.api;
 
 import co.com.bancolombia.api.dto.request.AddBranchRequest;
 import co.com.bancolombia.api.dto.request.AddProductRequest;
+import co.com.bancolombia.api.dto.request.AdjustProductStockRequest;
 import co.com.bancolombia.api.dto.request.CreateFranchiseRequest;
+import co.com.bancolombia.api.dto.request.IngestProductRequest;
+import co.com.bancolombia.api.dto.request.ProductStockUpdateRequest;
 import co.com.bancolombia.api.dto.request.UpdateBranchNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateFranchiseNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateProductNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateProductStockRequest;
+import co.com.bancolombia.api.dto.response.BranchPageResponse;
 import co.com.bancolombia.api.dto.response.BranchResponse;
+import co.com.bancolombia.api.dto.response.BulkStockUpdateResponse;
 import co.com.bancolombia.api.dto.response.CreateFranchiseResponse;
+import co.com.bancolombia.api.dto.response.ProductIngestionResponse;
+import co.com.bancolombia.api.dto.response.ProductPageResponse;
 import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.dto.response.ProductStockChangeResponse;
+import co.com.bancolombia.api.dto.response.ProductWithBranchResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -19,6 +31,7 @@ import org.springdoc.core.annotations.RouterOperation;
 import org.springdoc.core.annotations.RouterOperations;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -103,6 +116,31 @@ public class RouterRest {
                             }
                     )
             ),
+            @RouterOperation(
+                    path = "/api/products/bulk",
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "ingestProducts",
+                    operation = @Operation(
+                            operationId = "ingestProducts",
+                            summary = "Stream new products into their branches as NDJSON",
+                            tags = {"Products"},
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(mediaType = "application/x-ndjson",
+                                            schema = @Schema(implementation = IngestProductRequest.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "201",
+                                            description = "Products created successfully",
+                                            content = @Content(schema = @Schema(implementation = ProductIngestionResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                                    @ApiResponse(responseCode = "404", description = "Branch not found")
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = "/api/products/{productId}",
                     method = RequestMethod.DELETE,
@@ -130,7 +168,13 @@ public class RouterRest {
                     operation = @Operation(
                             operationId = "updateProductStock",
                             summary = "Update product stock",
+                            description = "Send the product ETag in If-Match to update only if nobody changed it since",
                             tags = {"Products"},
+                            parameters = {
+                                    @Parameter(name = "productId", in = ParameterIn.PATH, required = true),
+                                    @Parameter(name = "If-Match", in = ParameterIn.HEADER,
+                                            description = "ETag (product version) the update is based on")
+                            },
                             requestBody = @RequestBody(
                                     required = true,
                                     content = @Content(schema = @Schema(implementation = UpdateProductStockRequest.class))
@@ -138,11 +182,66 @@ public class RouterRest {
                             responses = {
                                     @ApiResponse(
                                             responseCode = "200",
-                                            description = "Product stock updated successfully",
+                                            description = "Product stock updated successfully, ETag holds the new version",
                                             content = @Content(schema = @Schema(implementation = ProductResponse.class))
                                     ),
                                     @ApiResponse(responseCode = "400", description = "Invalid request"),
-                                    @ApiResponse(responseCode = "404", description = "Product not found")
+                                    @ApiResponse(responseCode = "404", description = "Product not found"),
+                                    @ApiResponse(responseCode = "412", description = "Product changed since the If-Match version")
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/products/{productId}/stock/adjustments",
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "adjustProductStock",
+                    operation = @Operation(
+                            operationId = "adjustProductStock",
+                            summary = "Increment or decrement product stock by a delta",
+                            tags = {"Products"},
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = @Content(schema = @Schema(implementation = AdjustProductStockRequest.class))
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Product stock adjusted successfully",
+                                            content = @Content(schema = @Schema(implementation = ProductResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                                    @ApiResponse(responseCode = "404", description = "Product not found"),
+                                    @ApiResponse(responseCode = "409",
+                                            description = "Insufficient stock, or the result would not fit in a stock value")
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/products/stock/bulk",
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "bulkUpdateProductStock",
+                    operation = @Operation(
+                            operationId = "bulkUpdateProductStock",
+                            summary = "Set the stock of many products, as a JSON array or NDJSON stream",
+                            tags = {"Products"},
+                            requestBody = @RequestBody(
+                                    required = true,
+                                    content = {
+                                            @Content(mediaType = "application/json",
+                                                    array = @ArraySchema(schema = @Schema(implementation = ProductStockUpdateRequest.class))),
+                                            @Content(mediaType = "application/x-ndjson",
+                                                    schema = @Schema(implementation = ProductStockUpdateRequest.class))
+                                    }
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Stock levels updated, ids that do not exist are reported",
+                                            content = @Content(schema = @Schema(implementation = BulkStockUpdateResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Invalid request")
                             }
                     )
             ),
@@ -154,17 +253,137 @@ public class RouterRest {
                     operation = @Operation(
                             operationId = "getTopStockProductsByFranchise",
                             summary = "Get top stock products by franchise",
+                            description = "Send the last ETag in If-None-Match to get a 304 while the result is unchanged. "
+                                    + "Accept application/x-ndjson or text/event-stream to stream the products one by one",
+                            tags = {"Franchises"},
+                            parameters = {
+                                    @Parameter(name = "franchiseId", in = ParameterIn.PATH, required = true),
+                                    @Parameter(name = "If-None-Match", in = ParameterIn.HEADER,
+                                            description = "ETag of the top stock products the client already holds")
+                            },
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Top stock products retrieved successfully, ETag identifies the JSON result",
+                                            content = {
+                                                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                                            array = @ArraySchema(schema = @Schema(implementation = ProductWithBranchResponse.class))),
+                                                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                                            schema = @Schema(implementation = ProductWithBranchResponse.class)),
+                                                    @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                                            schema = @Schema(implementation = ProductWithBranchResponse.class))
+                                            }
+                                    ),
+                                    @ApiResponse(responseCode = "304", description = "Top stock products unchanged since the If-None-Match ETag"),
+                                    @ApiResponse(responseCode = "400", description = "Invalid franchise ID"),
+                                    @ApiResponse(responseCode = "404", description = "Franchise not found")
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/franchises/{franchiseId}/branches",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "listFranchiseBranches",
+                    operation = @Operation(
+                            operationId = "listFranchiseBranches",
+                            summary = "List the branches of a franchise",
                             tags = {"Franchises"},
+                            parameters = {
+                                    @Parameter(name = "franchiseId", in = ParameterIn.PATH, required = true),
+                                    @Parameter(name = "after", in = ParameterIn.QUERY,
+                                            description = "Cursor returned as nextCursor by the previous page"),
+                                    @Parameter(name = "limit", in = ParameterIn.QUERY,
+                                            description = "Page size, 20 by default and at most 100")
+                            },
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Branches page retrieved successfully",
+                                            content = @Content(schema = @Schema(implementation = BranchPageResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Invalid franchise ID, cursor or limit"),
+                                    @ApiResponse(responseCode = "404", description = "Franchise not found")
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/branches/{branchId}/products",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "listBranchProducts",
+                    operation = @Operation(
+                            operationId = "listBranchProducts",
+                            summary = "List the products of a branch",
+                            tags = {"Branches"},
+                            parameters = {
+                                    @Parameter(name = "branchId", in = ParameterIn.PATH, required = true),
+                                    @Parameter(name = "after", in = ParameterIn.QUERY,
+                                            description = "Cursor returned as nextCursor by the previous page"),
+                                    @Parameter(name = "limit", in = ParameterIn.QUERY,
+                                            description = "Page size, 20 by default and at most 100")
+                            },
                             responses = {
                                     @ApiResponse(
                                             responseCode = "200",
-                                            description = "Top stock products retrieved successfully"
+                                            description = "Products page retrieved successfully",
+                                            content = @Content(schema = @Schema(implementation = ProductPageResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Invalid branch ID, cursor or limit"),
+                                    @ApiResponse(responseCode = "404", description = "Branch not found")
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/franchises/{franchiseId}/stock-changes",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "streamFranchiseStockChanges",
+                    operation = @Operation(
+                            operationId = "streamFranchiseStockChanges",
+                            summary = "Stream stock changes of a franchise",
+                            description = "Pushes product additions, stock updates and deletions across every branch of the franchise",
+                            tags = {"Franchises"},
+                            parameters = {
+                                    @Parameter(name = "franchiseId", in = ParameterIn.PATH, required = true)
+                            },
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Server-sent stock-change events, the latest change per product wins for slow clients",
+                                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                                    schema = @Schema(implementation = ProductStockChangeResponse.class))
                                     ),
                                     @ApiResponse(responseCode = "400", description = "Invalid franchise ID"),
                                     @ApiResponse(responseCode = "404", description = "Franchise not found")
                             }
                     )
             ),
+            @RouterOperation(
+                    path = "/api/branches/{branchId}/stock-changes",
+                    method = RequestMethod.GET,
+                    beanClass = Handler.class,
+                    beanMethod = "streamBranchStockChanges",
+                    operation = @Operation(
+                            operationId = "streamBranchStockChanges",
+                            summary = "Stream stock changes of a branch",
+                            description = "Pushes product additions, stock updates and deletions of the branch",
+                            tags = {"Branches"},
+                            parameters = {
+                                    @Parameter(name = "branchId", in = ParameterIn.PATH, required = true)
+                            },
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = "200",
+                                            description = "Server-sent stock-change events, the latest change per product wins for slow clients",
+                                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                                    schema = @Schema(implementation = ProductStockChangeResponse.class))
+                                    ),
+                                    @ApiResponse(responseCode = "400", description = "Invalid branch ID"),
+                                    @ApiResponse(responseCode = "404", description = "Branch not found")
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = "/api/franchises/{franchiseId}/name",
                     method = RequestMethod.PATCH,
@@ -242,10 +461,17 @@ public class RouterRest {
     public RouterFunction<ServerResponse> routerFunction(Handler handler) {
         return route(POST("/api/franchises"), handler::createFranchise)
                 .andRoute(POST("/api/franchises/{franchiseId}/branches"), handler::addBranchToFranchise)
+                .andRoute(GET("/api/franchises/{franchiseId}/branches"), handler::listFranchiseBranches)
                 .andRoute(GET("/api/franchises/{franchiseId}/top-products"), handler::getTopStockProductsByFranchise)
                 .andRoute(POST("/api/branches/{branchId}/products"), handler::addProductToBranch)
+                .andRoute(GET("/api/branches/{branchId}/products"), handler::listBranchProducts)
+                .andRoute(GET("/api/franchises/{franchiseId}/stock-changes"), handler::streamFranchiseStockChanges)
+                .andRoute(GET("/api/branches/{branchId}/stock-changes"), handler::streamBranchStockChanges)
+                .andRoute(POST("/api/products/bulk"), handler::ingestProducts)
                 .andRoute(DELETE("/api/products/{productId}"), handler::deleteProduct)
                 .andRoute(PATCH("/api/products/{productId}/stock"), handler::updateProductStock)
+                .andRoute(POST("/api/products/{productId}/stock/adjustments"), handler::adjustProductStock)
+                .andRoute(POST("/api/products/stock/bulk"), handler::bulkUpdateProductStock)
                 .andRoute(PATCH("/api/franchises/{franchiseId}/name"), handler::updateFranchiseName)
                 .andRoute(PATCH("/api/branches/{branchId}/name"), handler::updateBranchName)
                 .andRoute(PATCH("/api/products/{productId}/name"), handler::updateProductName);
@@ -17,9 +17,15 @@ public class SecurityHeadersConfig implements WebFilter {
         headers.set("Strict-Transport-Security", "max-age=31536000; includeSubDomains; preload");
         headers.set("X-Content-Type-Options", "nosniff");
         headers.set("Server", "");
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
         headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
+        // Routes that set their own Cache-Control keep it; every other response, errors included, stays no-store.
+        exchange.getResponse().beforeCommit(() -> {
+            if (headers.getCacheControl() == null) {
+                headers.set("Cache-Control", "no-store");
+                headers.set("Pragma", "no-cache");
+            }
+            return Mono.empty();
+        });
         return chain.filter(exchange);
     }
 }
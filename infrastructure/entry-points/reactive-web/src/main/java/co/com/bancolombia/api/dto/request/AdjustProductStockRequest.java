@@ -0,0 +1,17 @@
+package co.com.bancolombia.api.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustProductStockRequest {
+    @NotNull(message = "The delta is a required field.")
+    private Integer delta;
+    private Boolean allowNegative;
+}
@@ -14,4 +14,5 @@ public class ProductResponse {
     private String name;
     private Integer stock;
     private Long branchId;
+    private Long version;
 }
@@ -0,0 +1,18 @@
+package co.com.bancolombia.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStockChangeResponse {
+    private Long productId;
+    private String productName;
+    private Integer stock;
+    private Long branchId;
+    private boolean deleted;
+}
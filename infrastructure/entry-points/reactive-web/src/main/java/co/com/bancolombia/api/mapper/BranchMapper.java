@@ -1,8 +1,10 @@
 package co.com.bancolombia.api.mapper;
 
 import co.com.bancolombia.api.dto.request.AddBranchRequest;
+import co.com.bancolombia.api.dto.response.BranchPageResponse;
 import co.com.bancolombia.api.dto.response.BranchResponse;
 import co.com.bancolombia.model.branch.Branch;
+import co.com.bancolombia.model.page.KeysetPage;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
@@ -21,4 +23,11 @@ public class BranchMapper {
                 .franchiseId(branch.getFranchiseId())
                 .build();
     }
+
+    public static BranchPageResponse toPageDto(KeysetPage<Branch> page) {
+        return BranchPageResponse.builder()
+                .items(page.getItems().stream().map(BranchMapper::toDto).toList())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
 }
@@ -1,9 +1,18 @@
 package co.com.bancolombia.api.mapper;
 
 import co.com.bancolombia.api.dto.request.AddProductRequest;
+import co.com.bancolombia.api.dto.request.IngestProductRequest;
+import co.com.bancolombia.api.dto.request.ProductStockUpdateRequest;
+import co.com.bancolombia.api.dto.response.BulkStockUpdateResponse;
+import co.com.bancolombia.api.dto.response.ProductPageResponse;
 import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.dto.response.ProductStockChangeResponse;
 import co.com.bancolombia.api.dto.response.ProductWithBranchResponse;
+import co.com.bancolombia.model.page.KeysetPage;
+import co.com.bancolombia.model.product.BulkStockUpdateResult;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
+import co.com.bancolombia.model.product.ProductStockUpdate;
 import co.com.bancolombia.model.product.ProductWithBranch;
 import lombok.experimental.UtilityClass;
 
@@ -17,12 +26,20 @@ public class ProductMapper {
                 .build();
     }
 
+    public static ProductPageResponse toPageDto(KeysetPage<Product> page) {
+        return ProductPageResponse.builder()
+                .items(page.getItems().stream().map(ProductMapper::toDto).toList())
+                .nextCursor(page.getNextCursor())
+                .build();
+    }
+
     public static ProductResponse toDto(Product product) {
         return ProductResponse.builder()
                 .id(product.getId())
                 .name(product.getName())
                 .stock(product.getStock())
                 .branchId(product.getBranchId())
+                .version(product.getVersion())
                 .build();
     }
     public static ProductWithBranchResponse toDtoWithBranch(ProductWithBranch productWithBranch){
@@ -34,4 +51,36 @@ public class ProductMapper {
                 .branchName(productWithBranch.getBranch().getName())
                 .build();
     }
+
+    public static ProductStockChangeResponse toStockChangeDto(ProductStockChange change) {
+        return ProductStockChangeResponse.builder()
+                .productId(change.getProductId())
+                .productName(change.getName())
+                .stock(change.getStock())
+                .branchId(change.getBranchId())
+                .deleted(change.isDeleted())
+                .build();
+    }
+
+    public static Product toDomain(IngestProductRequest request) {
+        return Product.builder()
+                .name(request.getName())
+                .stock(request.getStock())
+                .branchId(request.getBranchId())
+                .build();
+    }
+
+    public static ProductStockUpdate toDomain(ProductStockUpdateRequest request) {
+        return ProductStockUpdate.builder()
+                .productId(request.getProductId())
+                .stock(request.getStock())
+                .build();
+    }
+
+    public static BulkStockUpdateResponse toDto(BulkStockUpdateResult result) {
+        return BulkStockUpdateResponse.builder()
+                .updated(result.getUpdated())
+                .notFoundIds(result.getNotFoundIds())
+                .build();
+    }
 }
@@ -2,14 +2,21 @@ package co.com.bancolombia.api;
 
 import co.com.bancolombia.api.dto.request.AddBranchRequest;
 import co.com.bancolombia.api.dto.request.AddProductRequest;
+import co.com.bancolombia.api.dto.request.AdjustProductStockRequest;
 import co.com.bancolombia.api.dto.request.CreateFranchiseRequest;
+import co.com.bancolombia.api.dto.request.ProductStockUpdateRequest;
 import co.com.bancolombia.api.dto.request.UpdateBranchNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateFranchiseNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateProductNameRequest;
 import co.com.bancolombia.api.dto.request.UpdateProductStockRequest;
+import co.com.bancolombia.api.dto.response.BranchPageResponse;
 import co.com.bancolombia.api.dto.response.BranchResponse;
+import co.com.bancolombia.api.dto.response.BulkStockUpdateResponse;
 import co.com.bancolombia.api.dto.response.CreateFranchiseResponse;
+import co.com.bancolombia.api.dto.response.ProductIngestionResponse;
+import co.com.bancolombia.api.dto.response.ProductPageResponse;
 import co.com.bancolombia.api.dto.response.ProductResponse;
+import co.com.bancolombia.api.dto.response.ProductStockChangeResponse;
 import co.com.bancolombia.api.dto.response.ProductWithBranchResponse;
 import co.com.bancolombia.api.helper.GlobalErrorHandler;
 import co.com.bancolombia.api.helper.ValidationUtil;
@@ -17,13 +24,23 @@ import co.com.bancolombia.model.branch.Branch;
 import co.com.bancolombia.model.exception.BusinessException;
 import co.com.bancolombia.model.exception.ErrorCode;
 import co.com.bancolombia.model.franchise.Franchise;
+import co.com.bancolombia.model.page.KeysetPage;
+import co.com.bancolombia.model.product.BulkStockUpdateResult;
 import co.com.bancolombia.model.product.Product;
+import co.com.bancolombia.model.product.ProductStockChange;
 import co.com.bancolombia.model.product.ProductWithBranch;
+import co.com.bancolombia.model.product.TopStockProducts;
 import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
 import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
+import co.com.bancolombia.usecase.bulkupdateproductstock.BulkUpdateProductStockUseCase;
 import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
 import co.com.bancolombia.usecase.deleteproduct.DeleteProductUseCase;
 import co.com.bancolombia.usecase.gettopstockproductsbyfranchise.GetTopStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.ingestproducts.IngestProductsUseCase;
+import co.com.bancolombia.usecase.listbranchproducts.ListBranchProductsUseCase;
+import co.com.bancolombia.usecase.listfranchisebranches.ListFranchiseBranchesUseCase;
+import co.com.bancolombia.usecase.subscribeproductstockchanges.SubscribeProductStockChangesUseCase;
 import co.com.bancolombia.usecase.updatebranchname.UpdateBranchNameUseCase;
 import co.com.bancolombia.usecase.updatefranchisename.UpdateFranchiseNameUseCase;
 import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
@@ -34,6 +51,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.webflux.test.autoconfigure.WebFluxTest;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -41,9 +60,14 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {RouterRest.class, Handler.class, ValidationUtil.class, GlobalErrorHandler.class, RouterRestTest.Config.class})
@@ -62,12 +86,21 @@ class RouterRestTest {
     @MockitoBean
     private AddProductToBranchUseCase addProductToBranchUseCase;
 
+    @MockitoBean
+    private IngestProductsUseCase ingestProductsUseCase;
+
     @MockitoBean
     private DeleteProductUseCase deleteProductUseCase;
 
     @MockitoBean
     private UpdateProductStockUseCase updateProductStockUseCase;
 
+    @MockitoBean
+    private AdjustProductStockUseCase adjustProductStockUseCase;
+
+    @MockitoBean
+    private BulkUpdateProductStockUseCase bulkUpdateProductStockUseCase;
+
     @MockitoBean
     private GetTopStockProductsByFranchiseUseCase getTopStockProductsByFranchiseUseCase;
 
@@ -80,6 +113,15 @@ class RouterRestTest {
     @MockitoBean
     private UpdateBranchNameUseCase updateBranchNameUseCase;
 
+    @MockitoBean
+    private ListFranchiseBranchesUseCase listFranchiseBranchesUseCase;
+
+    @MockitoBean
+    private ListBranchProductsUseCase listBranchProductsUseCase;
+
+    @MockitoBean
+    private SubscribeProductStockChangesUseCase subscribeProductStockChangesUseCase;
+
     @TestConfiguration
     static class Config {
         @Bean
@@ -258,6 +300,41 @@ class RouterRestTest {
     }
 
 
+    @Test
+    void testIngestProducts() {
+        when(ingestProductsUseCase.ingest(any()))
+                .thenAnswer(invocation -> {
+                    Flux<?> products = invocation.getArgument(0);
+                    return products.count();
+                });
+
+        webTestClient.post()
+                .uri("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"branchId\":1,\"name\":\"A\",\"stock\":1}\n" +
+                        "{\"branchId\":2,\"name\":\"B\",\"stock\":2}\n")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(ProductIngestionResponse.class)
+                .value(response -> assertThat(response.getCreated()).isEqualTo(2L));
+    }
+
+    @Test
+    void testIngestProductsWithInvalidLine() {
+        when(ingestProductsUseCase.ingest(any()))
+                .thenAnswer(invocation -> {
+                    Flux<?> products = invocation.getArgument(0);
+                    return products.count();
+                });
+
+        webTestClient.post()
+                .uri("/api/products/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"branchId\":1,\"name\":\"\",\"stock\":1}\n")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void testDeleteProduct() {
         when(deleteProductUseCase.deleteProduct(1L))
@@ -368,6 +445,209 @@ class RouterRestTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    void testUpdateProductStockWithIfMatch() {
+        Product updatedProduct = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(25)
+                .branchId(1L)
+                .version(4L)
+                .build();
+
+        when(updateProductStockUseCase.updateStock(1L, 25, 3L))
+                .thenReturn(Mono.just(updatedProduct));
+
+        webTestClient.patch()
+                .uri("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .bodyValue(UpdateProductStockRequest.builder().stock(25).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"")
+                .expectBody(ProductResponse.class)
+                .value(response -> assertThat(response.getVersion()).isEqualTo(4L));
+    }
+
+    @Test
+    void testUpdateProductStockWithStaleIfMatch() {
+        when(updateProductStockUseCase.updateStock(1L, 25, 2L))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B412001)));
+
+        webTestClient.patch()
+                .uri("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .bodyValue(UpdateProductStockRequest.builder().stock(25).build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void testUpdateProductStockWithWeakIfMatch() {
+        webTestClient.patch()
+                .uri("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .bodyValue(UpdateProductStockRequest.builder().stock(25).build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        verifyNoInteractions(updateProductStockUseCase);
+    }
+
+    @Test
+    void testUpdateProductStockWithIfMatchList() {
+        Product updatedProduct = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(25)
+                .branchId(1L)
+                .version(5L)
+                .build();
+
+        when(updateProductStockUseCase.updateStock(1L, 25, List.of(3L, 4L)))
+                .thenReturn(Mono.just(updatedProduct));
+
+        webTestClient.patch()
+                .uri("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\", W/\"2\", \"4\"")
+                .bodyValue(UpdateProductStockRequest.builder().stock(25).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"5\"");
+    }
+
+    @Test
+    void testUpdateProductStockWithIfMatchListMatchingNoVersion() {
+        when(updateProductStockUseCase.updateStock(1L, 25, List.of(3L, 4L)))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B412001)));
+
+        webTestClient.patch()
+                .uri("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"3\", \"4\"")
+                .bodyValue(UpdateProductStockRequest.builder().stock(25).build())
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void testUpdateProductStockWithInvalidIfMatch() {
+        webTestClient.patch()
+                .uri("/api/products/1/stock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"abc\"")
+                .bodyValue(UpdateProductStockRequest.builder().stock(25).build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testAdjustProductStock() {
+        Product adjustedProduct = Product.builder()
+                .id(1L)
+                .name("Test Product")
+                .stock(7)
+                .branchId(1L)
+                .build();
+
+        when(adjustProductStockUseCase.adjustStock(1L, -3, false))
+                .thenReturn(Mono.just(adjustedProduct));
+
+        AdjustProductStockRequest request = AdjustProductStockRequest.builder()
+                .delta(-3)
+                .build();
+
+        webTestClient.post()
+                .uri("/api/products/1/stock/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductResponse.class)
+                .value(response -> {
+                    assertThat(response).isNotNull()
+                            .extracting(
+                                    ProductResponse::getId,
+                                    ProductResponse::getStock
+                            ).containsExactly(1L, 7);
+                });
+    }
+
+    @Test
+    void testAdjustProductStockWithoutDelta() {
+        webTestClient.post()
+                .uri("/api/products/1/stock/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(AdjustProductStockRequest.builder().build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testAdjustProductStockInsufficientStock() {
+        when(adjustProductStockUseCase.adjustStock(1L, -30, false))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B409001)));
+
+        AdjustProductStockRequest request = AdjustProductStockRequest.builder()
+                .delta(-30)
+                .allowNegative(false)
+                .build();
+
+        webTestClient.post()
+                .uri("/api/products/1/stock/adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testBulkUpdateProductStock() {
+        when(bulkUpdateProductStockUseCase.updateStocks(any()))
+                .thenAnswer(invocation -> {
+                    Flux<?> updates = invocation.getArgument(0);
+                    return updates.count().map(_ -> BulkStockUpdateResult.builder()
+                            .updated(1)
+                            .notFoundIds(List.of(2L))
+                            .build());
+                });
+
+        webTestClient.post()
+                .uri("/api/products/stock/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"productId\":1,\"stock\":10}\n{\"productId\":2,\"stock\":5}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BulkStockUpdateResponse.class)
+                .value(response -> {
+                    assertThat(response).isNotNull()
+                            .extracting(
+                                    BulkStockUpdateResponse::getUpdated,
+                                    BulkStockUpdateResponse::getNotFoundIds
+                            ).containsExactly(1, List.of(2L));
+                });
+    }
+
+    @Test
+    void testBulkUpdateProductStockWithInvalidStock() {
+        when(bulkUpdateProductStockUseCase.updateStocks(any()))
+                .thenAnswer(invocation -> {
+                    Flux<?> updates = invocation.getArgument(0);
+                    return updates.then(Mono.empty());
+                });
+
+        webTestClient.post()
+                .uri("/api/products/stock/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(ProductStockUpdateRequest.builder().productId(1L).stock(-1).build()))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void testGetTopStockProductsByFranchise() {
         Branch branch = Branch.builder()
@@ -388,13 +668,18 @@ class RouterRestTest {
                 .branch(branch)
                 .build();
 
-        when(getTopStockProductsByFranchiseUseCase.getTopStockProductsByFranchise(1L))
-                .thenReturn(Flux.just(productWithBranch));
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProducts(1L))
+                .thenReturn(Mono.just(TopStockProducts.builder()
+                        .version("a1b2c3d4-7")
+                        .products(List.of(productWithBranch))
+                        .build()));
 
         webTestClient.get()
                 .uri("/api/franchises/1/top-products")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"a1b2c3d4-7\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
                 .expectBodyList(ProductWithBranchResponse.class)
                 .value(responses -> {
                     assertThat(responses).isNotNull();
@@ -407,6 +692,104 @@ class RouterRestTest {
                 });
     }
 
+    @Test
+    void testGetTopStockProductsByFranchiseNotModified() {
+        when(getTopStockProductsByFranchiseUseCase.currentVersion(1L)).thenReturn(Mono.just("a1b2c3d4-7"));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/top-products")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"a1b2c3d4-6\", W/\"a1b2c3d4-7\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"a1b2c3d4-7\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody().isEmpty();
+
+        verify(getTopStockProductsByFranchiseUseCase, never()).getTopStockProducts(any());
+    }
+
+    @Test
+    void testGetTopStockProductsByFranchiseWithStaleETag() {
+        when(getTopStockProductsByFranchiseUseCase.currentVersion(1L)).thenReturn(Mono.just("a1b2c3d4-8"));
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProducts(1L))
+                .thenReturn(Mono.just(TopStockProducts.builder()
+                        .version("a1b2c3d4-8")
+                        .products(List.of())
+                        .build()));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/top-products")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"a1b2c3d4-7\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"a1b2c3d4-8\"");
+    }
+
+    @Test
+    void testGetTopStockProductsByFranchiseNotModifiedAfterCacheMiss() {
+        when(getTopStockProductsByFranchiseUseCase.currentVersion(1L)).thenReturn(Mono.empty());
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProducts(1L))
+                .thenReturn(Mono.just(TopStockProducts.builder()
+                        .version("a1b2c3d4-7")
+                        .products(List.of())
+                        .build()));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/top-products")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"a1b2c3d4-7\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"a1b2c3d4-7\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testGetTopStockProductsByFranchiseAsNdjson() {
+        ProductWithBranch productWithBranch = ProductWithBranch.builder()
+                .product(Product.builder().id(1L).name("Test Product").stock(50).branchId(1L).build())
+                .branch(Branch.builder().id(1L).name("Test Branch").franchiseId(1L).build())
+                .build();
+
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProductsByFranchise(1L))
+                .thenReturn(Flux.just(productWithBranch));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/top-products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBodyList(ProductWithBranchResponse.class)
+                .value(responses -> {
+                    assertThat(responses.size()).isEqualTo(1);
+                    assertThat(responses.getFirst().getProductName()).isEqualTo("Test Product");
+                });
+
+        verify(getTopStockProductsByFranchiseUseCase, never()).getTopStockProducts(any());
+    }
+
+    @Test
+    void testGetTopStockProductsByFranchiseAsEventStream() {
+        ProductWithBranch productWithBranch = ProductWithBranch.builder()
+                .product(Product.builder().id(1L).name("Test Product").stock(50).branchId(1L).build())
+                .branch(Branch.builder().id(1L).name("Test Branch").franchiseId(1L).build())
+                .build();
+
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProductsByFranchise(1L))
+                .thenReturn(Flux.just(productWithBranch));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/top-products")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBodyList(ProductWithBranchResponse.class)
+                .value(responses -> assertThat(responses.getFirst().getStock()).isEqualTo(50));
+    }
+
     @Test
     void testGetTopStockProductsByFranchiseWithInvalidId() {
         webTestClient.get()
@@ -417,8 +800,8 @@ class RouterRestTest {
 
     @Test
     void testGetTopStockProductsByFranchiseNotFound() {
-        when(getTopStockProductsByFranchiseUseCase.getTopStockProductsByFranchise(999L))
-                .thenReturn(Flux.error(new BusinessException(ErrorCode.B404001)));
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProducts(999L))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B404001)));
 
         webTestClient.get()
                 .uri("/api/franchises/999/top-products")
@@ -426,6 +809,159 @@ class RouterRestTest {
                 .expectStatus().isNotFound();
     }
 
+    @Test
+    void testStreamFranchiseStockChanges() {
+        ProductStockChange change = ProductStockChange.builder()
+                .productId(1L)
+                .name("Test Product")
+                .stock(5)
+                .branchId(1L)
+                .franchiseId(1L)
+                .build();
+
+        when(subscribeProductStockChangesUseCase.subscribeToFranchise(1L))
+                .thenReturn(Mono.just(Flux.just(change)));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/stock-changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBodyList(ProductStockChangeResponse.class)
+                .value(responses -> {
+                    assertThat(responses.size()).isEqualTo(1);
+                    assertThat(responses.getFirst().getProductId()).isEqualTo(1L);
+                    assertThat(responses.getFirst().getStock()).isEqualTo(5);
+                    assertThat(responses.getFirst().isDeleted()).isFalse();
+                });
+    }
+
+    @Test
+    void testStreamFranchiseStockChangesNotFound() {
+        when(subscribeProductStockChangesUseCase.subscribeToFranchise(999L))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B404001)));
+
+        webTestClient.get()
+                .uri("/api/franchises/999/stock-changes")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testStreamBranchStockChanges() {
+        ProductStockChange deletion = ProductStockChange.builder()
+                .productId(2L)
+                .name("Gone Product")
+                .stock(0)
+                .branchId(3L)
+                .deleted(true)
+                .build();
+
+        when(subscribeProductStockChangesUseCase.subscribeToBranch(3L))
+                .thenReturn(Mono.just(Flux.just(deletion)));
+
+        webTestClient.get()
+                .uri("/api/branches/3/stock-changes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ProductStockChangeResponse.class)
+                .value(responses -> assertThat(responses.getFirst().isDeleted()).isTrue());
+    }
+
+    @Test
+    void testStreamBranchStockChangesWithInvalidId() {
+        webTestClient.get()
+                .uri("/api/branches/invalid/stock-changes")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testListFranchiseBranches() {
+        Branch branch = Branch.builder()
+                .id(5L)
+                .name("Test Branch")
+                .franchiseId(1L)
+                .build();
+
+        when(listFranchiseBranchesUseCase.listBranches(1L, 4L, 1))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(branch), 5L)));
+
+        webTestClient.get()
+                .uri("/api/franchises/1/branches?after=4&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BranchPageResponse.class)
+                .value(response -> {
+                    assertThat(response.getNextCursor()).isEqualTo(5L);
+                    assertThat(response.getItems().getFirst().getId()).isEqualTo(5L);
+                    assertThat(response.getItems().getFirst().getName()).isEqualTo("Test Branch");
+                });
+    }
+
+    @Test
+    void testListFranchiseBranchesWithInvalidCursor() {
+        webTestClient.get()
+                .uri("/api/franchises/1/branches?after=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testListFranchiseBranchesNotFound() {
+        when(listFranchiseBranchesUseCase.listBranches(999L, null, null))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B404001)));
+
+        webTestClient.get()
+                .uri("/api/franchises/999/branches")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testListBranchProducts() {
+        Product product = Product.builder()
+                .id(7L)
+                .name("Test Product")
+                .stock(50)
+                .branchId(1L)
+                .build();
+
+        when(listBranchProductsUseCase.listProducts(1L, null, null))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(product), null)));
+
+        webTestClient.get()
+                .uri("/api/branches/1/products")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductPageResponse.class)
+                .value(response -> {
+                    assertThat(response.getNextCursor()).isNull();
+                    assertThat(response.getItems().getFirst().getId()).isEqualTo(7L);
+                    assertThat(response.getItems().getFirst().getStock()).isEqualTo(50);
+                });
+    }
+
+    @Test
+    void testListBranchProductsWithInvalidLimit() {
+        webTestClient.get()
+                .uri("/api/branches/1/products?limit=many")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testListBranchProductsWithLimitOutOfBounds() {
+        when(listBranchProductsUseCase.listProducts(1L, null, 500))
+                .thenReturn(Mono.error(new BusinessException(ErrorCode.B400001, "limit must be between 1 and 100")));
+
+        webTestClient.get()
+                .uri("/api/branches/1/products?limit=500")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void testUpdateFranchiseName() {
         Franchise updatedFranchise = Franchise.builder()
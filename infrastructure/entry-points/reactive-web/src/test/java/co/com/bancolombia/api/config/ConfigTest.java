@@ -3,11 +3,18 @@ package co.com.bancolombia.api.config;
 import co.com.bancolombia.api.Handler;
 import co.com.bancolombia.api.RouterRest;
 import co.com.bancolombia.api.helper.ValidationUtil;
+import co.com.bancolombia.model.product.TopStockProducts;
 import co.com.bancolombia.usecase.addbranchtofranchise.AddBranchToFranchiseUseCase;
 import co.com.bancolombia.usecase.addproducttobranch.AddProductToBranchUseCase;
+import co.com.bancolombia.usecase.adjustproductstock.AdjustProductStockUseCase;
+import co.com.bancolombia.usecase.bulkupdateproductstock.BulkUpdateProductStockUseCase;
 import co.com.bancolombia.usecase.createfranchise.CreateFranchiseUseCase;
 import co.com.bancolombia.usecase.deleteproduct.DeleteProductUseCase;
 import co.com.bancolombia.usecase.gettopstockproductsbyfranchise.GetTopStockProductsByFranchiseUseCase;
+import co.com.bancolombia.usecase.ingestproducts.IngestProductsUseCase;
+import co.com.bancolombia.usecase.listbranchproducts.ListBranchProductsUseCase;
+import co.com.bancolombia.usecase.listfranchisebranches.ListFranchiseBranchesUseCase;
+import co.com.bancolombia.usecase.subscribeproductstockchanges.SubscribeProductStockChangesUseCase;
 import co.com.bancolombia.usecase.updatebranchname.UpdateBranchNameUseCase;
 import co.com.bancolombia.usecase.updatefranchisename.UpdateFranchiseNameUseCase;
 import co.com.bancolombia.usecase.updateproductname.UpdateProductNameUseCase;
@@ -19,7 +26,9 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 import static org.mockito.Mockito.when;
 
@@ -43,12 +52,21 @@ class ConfigTest {
     @MockitoBean
     private AddProductToBranchUseCase addProductToFranchiseUseCase;
 
+    @MockitoBean
+    private IngestProductsUseCase ingestProductsUseCase;
+
     @MockitoBean
     private DeleteProductUseCase deleteProductUseCase;
 
     @MockitoBean
     private UpdateProductStockUseCase updateProductStockUseCase;
 
+    @MockitoBean
+    private AdjustProductStockUseCase adjustProductStockUseCase;
+
+    @MockitoBean
+    private BulkUpdateProductStockUseCase bulkUpdateProductStockUseCase;
+
     @MockitoBean
     private GetTopStockProductsByFranchiseUseCase getTopStockProductsByFranchiseUseCase;
 
@@ -61,10 +79,19 @@ class ConfigTest {
     @MockitoBean
     private UpdateBranchNameUseCase updateBranchNameUseCase;
 
+    @MockitoBean
+    private ListFranchiseBranchesUseCase listFranchiseBranchesUseCase;
+
+    @MockitoBean
+    private ListBranchProductsUseCase listBranchProductsUseCase;
+
+    @MockitoBean
+    private SubscribeProductStockChangesUseCase subscribeProductStockChangesUseCase;
+
     @Test
     void corsConfigurationShouldAllowOrigins() {
-        when(getTopStockProductsByFranchiseUseCase.getTopStockProductsByFranchise(1L))
-                .thenReturn(Flux.empty());
+        when(getTopStockProductsByFranchiseUseCase.getTopStockProducts(1L))
+                .thenReturn(Mono.just(TopStockProducts.builder().version("a1b2c3d4-1").products(List.of()).build()));
 
         webTestClient.get()
                 .uri("/api/franchises/1/top-products")
@@ -75,9 +102,21 @@ class ConfigTest {
                 .expectHeader().valueEquals("Strict-Transport-Security", "max-age=31536000; includeSubDomains; preload")
                 .expectHeader().valueEquals("X-Content-Type-Options", "nosniff")
                 .expectHeader().valueEquals("Server", "")
-                .expectHeader().valueEquals("Cache-Control", "no-store")
-                .expectHeader().valueEquals("Pragma", "no-cache")
+                .expectHeader().valueEquals("Cache-Control", "no-cache, private")
+                .expectHeader().doesNotExist("Pragma")
                 .expectHeader().valueEquals("Referrer-Policy", "strict-origin-when-cross-origin");
     }
 
+    @Test
+    void routesWithoutACachePolicyShouldStayNoStore() {
+        when(deleteProductUseCase.deleteProduct(1L)).thenReturn(Mono.empty());
+
+        webTestClient.delete()
+                .uri("/api/products/1")
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectHeader().valueEquals("Cache-Control", "no-store")
+                .expectHeader().valueEquals("Pragma", "no-cache");
+    }
+
 }
\ No newline at end of file